@@ -0,0 +1,22 @@
+package com.github.wuyanzuplus.excel.benchmark;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * @author daniel.hu
+ */
+@Getter
+@Setter
+public class BenchmarkEntity {
+
+    private String project;
+
+    private String apiCode;
+
+    private String apiName;
+
+    private BenchmarkPlatform apiPlatform;
+
+    private String apiUrl;
+}
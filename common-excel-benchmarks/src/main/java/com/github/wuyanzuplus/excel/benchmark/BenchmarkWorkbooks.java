@@ -0,0 +1,116 @@
+package com.github.wuyanzuplus.excel.benchmark;
+
+import com.github.wuyanzuplus.excel.core.ExcelHandler;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 基准数据生成（SXSSF写出，生成百万行时内存可控）
+ *
+ * @author daniel.hu
+ */
+final class BenchmarkWorkbooks {
+
+    /**
+     * 每隔多少行插入一个非法的资源属性（用于errorMap统计）
+     */
+    static final int ERROR_INTERVAL = 100;
+
+    private static final BenchmarkPlatform[] PLATFORMS = {BenchmarkPlatform.系统, BenchmarkPlatform.运营, BenchmarkPlatform.租户};
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    private BenchmarkWorkbooks() {
+    }
+
+    /**
+     * 按BenchmarkTemplateEnum生成的文本workbook
+     *
+     * @param rows       数据行数（不含标题）
+     * @param withErrors 是否每隔ERROR_INTERVAL行插入一个非法值
+     */
+    static byte[] text(int rows, boolean withErrors) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook();
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("接口数据");
+            ExcelHandler[] handlers = BenchmarkTemplateEnum.values();
+            Row title = sheet.createRow(0);
+            for (int i = 0; i < handlers.length; i++) {
+                title.createCell(i).setCellValue(handlers[i].getTitleName());
+            }
+            for (int i = 1; i <= rows; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("项目" + i % 10);
+                row.createCell(1).setCellValue("接口" + i);
+                row.createCell(2).setCellValue("api_" + i);
+                row.createCell(3).setCellValue("/api/v1/resource/" + i);
+                row.createCell(4).setCellValue(withErrors && i % ERROR_INTERVAL == 0 ? "未知" : PLATFORMS[i % PLATFORMS.length].name());
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * 数值/小数/布尔/日期/公式混合的workbook，覆盖formatCell的各个分支
+     *
+     * @param rows 数据行数（不含标题）
+     */
+    static byte[] typed(int rows) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook();
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("typed");
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+            Row title = sheet.createRow(0);
+            String[] titles = {"整数", "小数", "布尔", "日期", "公式", "文本"};
+            for (int i = 0; i < titles.length; i++) {
+                title.createCell(i).setCellValue(titles[i]);
+            }
+            long start = System.currentTimeMillis();
+            for (int i = 1; i <= rows; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(i);
+                row.createCell(1).setCellValue(i / 8.0);
+                row.createCell(2).setCellValue(i % 2 == 0);
+                row.createCell(3).setCellValue(new Date(start - i % 3650 * DAY));
+                row.getCell(3).setCellStyle(dateStyle);
+                row.createCell(4).setCellFormula("A" + (i + 1) + "*B" + (i + 1));
+                row.createCell(5).setCellValue("text" + i);
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * 导出用的实体数据
+     */
+    static List<BenchmarkEntity> entities(int rows) {
+        List<BenchmarkEntity> entities = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            BenchmarkEntity entity = new BenchmarkEntity();
+            entity.setProject("项目" + i % 10);
+            entity.setApiName("接口" + i);
+            entity.setApiCode("api_" + i);
+            entity.setApiUrl("/api/v1/resource/" + i);
+            entity.setApiPlatform(PLATFORMS[i % PLATFORMS.length]);
+            entities.add(entity);
+        }
+        return entities;
+    }
+}
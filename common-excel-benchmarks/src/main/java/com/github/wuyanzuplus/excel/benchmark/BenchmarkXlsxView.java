@@ -0,0 +1,25 @@
+package com.github.wuyanzuplus.excel.benchmark;
+
+import com.github.wuyanzuplus.excel.core.ExcelBaseView;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.Map;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 基准用导出视图，公开buildExcelDocument以便单独测量构建耗时（不含写出）
+ *
+ * @author daniel.hu
+ */
+@SuppressWarnings("squid:MaximumInheritanceDepth")
+public class BenchmarkXlsxView extends ExcelBaseView<BenchmarkEntity> {
+
+    public BenchmarkXlsxView() {
+        super("接口导出", "接口数据", BenchmarkTemplateEnum.values());
+    }
+
+    public void build(Map<String, Object> map, Workbook workbook, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        buildExcelDocument(map, workbook, request, response);
+    }
+}
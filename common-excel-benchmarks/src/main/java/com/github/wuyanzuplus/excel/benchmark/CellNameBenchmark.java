@@ -0,0 +1,41 @@
+package com.github.wuyanzuplus.excel.benchmark;
+
+import com.github.wuyanzuplus.excel.core.ExcelUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExcelUtil#convertToCellName：错误坐标生成（单/双/三字母列）
+ *
+ * @author daniel.hu
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CellNameBenchmark {
+
+    private static final int ROWS = 100;
+
+    private static final int[] COLUMNS = {1, 5, 26, 27, 702, 703, 16384};
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS * 7)
+    public void convertToCellName(Blackhole blackhole) {
+        for (int row = 1; row <= ROWS; row++) {
+            for (int column : COLUMNS) {
+                blackhole.consume(ExcelUtil.convertToCellName(row, column));
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.wuyanzuplus.excel.benchmark;
+
+import com.github.wuyanzuplus.excel.core.ExcelUtil;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExcelBaseView#buildExcelDocument：标题 + 逐行setRow（字段读取、导出值处理、单元格创建），不含写出
+ * <pre>
+ *     XSSF为ExcelBaseView默认的workbook；SXSSF为ExcelStreamingBaseView使用的流式workbook
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ExportBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"XSSF", "SXSSF"})
+    private String workbookType;
+
+    private final BenchmarkXlsxView view = new BenchmarkXlsxView();
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    private List<BenchmarkEntity> entities;
+
+    @Setup
+    public void setUp() {
+        entities = BenchmarkWorkbooks.entities(rows);
+        request.addHeader(HttpHeaders.USER_AGENT, "Mozilla/5.0");
+    }
+
+    @Benchmark
+    public int buildExcelDocument() throws Exception {
+        Map<String, Object> model = new HashMap<>();
+        model.put(ExcelUtil.EXCEL_EXPORT_DATA_KEY, entities);
+        Workbook workbook = "SXSSF".equals(workbookType) ? new SXSSFWorkbook() : new XSSFWorkbook();
+        try {
+            view.build(model, workbook, request, new MockHttpServletResponse());
+            return workbook.getSheetAt(0).getLastRowNum();
+        } finally {
+            if (workbook instanceof SXSSFWorkbook) {
+                ((SXSSFWorkbook) workbook).dispose();
+            }
+            workbook.close();
+        }
+    }
+}
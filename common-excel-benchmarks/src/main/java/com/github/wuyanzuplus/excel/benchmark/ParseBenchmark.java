@@ -0,0 +1,69 @@
+package com.github.wuyanzuplus.excel.benchmark;
+
+import com.github.wuyanzuplus.excel.core.ExcelReadMode;
+import com.github.wuyanzuplus.excel.core.ExcelReadOptions;
+import com.github.wuyanzuplus.excel.core.ExcelUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExcelUtil#parseExcel：读取 + 标题校验 + 单元格校验 + 实体绑定
+ * <pre>
+ *     数据每隔{@link BenchmarkWorkbooks#ERROR_INTERVAL}行含一个非法的资源属性，带errorMap时会记录错误坐标
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ParseBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"DOM", "STREAMING"})
+    private ExcelReadMode readMode;
+
+    private MultipartFile file;
+
+    private ExcelReadOptions options;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = new MockMultipartFile("benchmark.xlsx", "benchmark.xlsx", null, BenchmarkWorkbooks.text(rows, true));
+        options = ExcelReadOptions.builder().readMode(readMode).build();
+    }
+
+    @Benchmark
+    public List<BenchmarkEntity> parseExcel() {
+        return ExcelUtil.parseExcel(file, BenchmarkTemplateEnum.values(), BenchmarkEntity.class, null, true, options);
+    }
+
+    @Benchmark
+    public Map<String, List<String>> parseExcelWithErrorMap() {
+        Map<String, List<String>> errorMap = new HashMap<>();
+        ExcelUtil.parseExcel(file, BenchmarkTemplateEnum.values(), BenchmarkEntity.class, errorMap, true, options);
+        return errorMap;
+    }
+}
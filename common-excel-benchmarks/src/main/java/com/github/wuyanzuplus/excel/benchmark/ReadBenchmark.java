@@ -0,0 +1,62 @@
+package com.github.wuyanzuplus.excel.benchmark;
+
+import com.github.wuyanzuplus.excel.core.ExcelReadMode;
+import com.github.wuyanzuplus.excel.core.ExcelReadOptions;
+import com.github.wuyanzuplus.excel.core.ExcelUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExcelUtil#readExcelWithFirstSheet：读取 + 单元格格式化（formatCell）
+ * <pre>
+ *     TEXT为纯文本列；TYPED为数值/小数/布尔/日期/公式混合列，覆盖formatCell的各个分支
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReadBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"DOM", "STREAMING"})
+    private ExcelReadMode readMode;
+
+    @Param({"TEXT", "TYPED"})
+    private String content;
+
+    private byte[] bytes;
+
+    private ExcelReadOptions options;
+
+    @Setup
+    public void setUp() throws IOException {
+        bytes = "TYPED".equals(content) ? BenchmarkWorkbooks.typed(rows) : BenchmarkWorkbooks.text(rows, false);
+        options = ExcelReadOptions.builder().readMode(readMode).build();
+    }
+
+    @Benchmark
+    public List<String[]> readExcelWithFirstSheet() {
+        return ExcelUtil.readExcelWithFirstSheet("benchmark.xlsx", new ByteArrayInputStream(bytes), options);
+    }
+}
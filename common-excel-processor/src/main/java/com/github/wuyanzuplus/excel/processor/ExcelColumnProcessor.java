@@ -0,0 +1,280 @@
+package com.github.wuyanzuplus.excel.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 根据{@code @ExcelColumn}在编译期生成ExcelRowMapper：与实体同包，类名为实体类名 + ExcelMapping（嵌套类以_连接外部类名）
+ * <pre>
+ *     生成的类包含实现ExcelHandler的Column枚举（每个注解字段一个常量，按字段声明顺序）、
+ *     直接调用构造器与字段/setter的bind、直接调用字段/getter的read，运行时不再反射或查找字段名；
+ *     实体、字段、处理器类不满足要求时报告编译错误，访问方法不存在时生成的代码编译失败
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+@SupportedAnnotationTypes(ExcelColumnProcessor.EXCEL_COLUMN)
+public class ExcelColumnProcessor extends AbstractProcessor {
+
+    static final String EXCEL_COLUMN = "com.github.wuyanzuplus.excel.core.ExcelColumn";
+
+    private static final String CORE_PACKAGE = "com.github.wuyanzuplus.excel.core";
+
+    private static final String MAPPING_SUFFIX = "ExcelMapping";
+
+    /**
+     * 已生成的实体（多轮处理时不重复生成）
+     */
+    private final Set<String> generated = new HashSet<>();
+
+    /**
+     * 当前实体是否有编译错误
+     */
+    private boolean failed;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(EXCEL_COLUMN);
+        if (annotation == null) {
+            return false;
+        }
+        Set<TypeElement> entities = new LinkedHashSet<>();
+        for (Element field : roundEnv.getElementsAnnotatedWith(annotation)) {
+            entities.add((TypeElement) field.getEnclosingElement());
+        }
+        for (TypeElement entity : entities) {
+            if (generated.add(entity.getQualifiedName().toString())) {
+                generate(entity, annotation);
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement entity, TypeElement annotation) {
+        failed = false;
+        checkEntity(entity);
+        List<Column> columns = new ArrayList<>();
+        // 按字段声明顺序
+        for (VariableElement field : ElementFilter.fieldsIn(entity.getEnclosedElements())) {
+            AnnotationMirror mirror = annotationOf(field, annotation);
+            if (mirror == null) {
+                continue;
+            }
+            columns.add(column(field, mirror));
+        }
+        if (failed) {
+            return;
+        }
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(entity);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String className = mappingName(entity);
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile(packageName.isEmpty() ? className : packageName + "." + className, entity).openWriter()) {
+            writer.write(new MappingWriter(packageName, className, entity.getQualifiedName().toString(), columns).write());
+        } catch (IOException e) {
+            error(entity, "Cannot generate %s: %s", className, e.getMessage());
+        }
+    }
+
+    /**
+     * 实体需为非抽象、非泛型、可在同包中访问的类（嵌套类需为static），且有非private的无参构造器
+     */
+    private void checkEntity(TypeElement entity) {
+        if (entity.getKind() != ElementKind.CLASS || entity.getModifiers().contains(Modifier.ABSTRACT)) {
+            error(entity, "@ExcelColumn entity %s must be a concrete class", entity.getQualifiedName());
+            return;
+        }
+        if (!entity.getTypeParameters().isEmpty()) {
+            error(entity, "@ExcelColumn entity %s cannot be generic", entity.getQualifiedName());
+            return;
+        }
+        for (Element type = entity; type instanceof TypeElement; type = type.getEnclosingElement()) {
+            TypeElement typeElement = (TypeElement) type;
+            if (typeElement.getModifiers().contains(Modifier.PRIVATE)
+                    || typeElement.getNestingKind() == NestingKind.MEMBER && !typeElement.getModifiers().contains(Modifier.STATIC)) {
+                error(entity, "@ExcelColumn entity %s must be accessible and static", entity.getQualifiedName());
+                return;
+            }
+        }
+        if (!hasNoArgConstructor(entity)) {
+            error(entity, "@ExcelColumn entity %s needs a non-private no-arg constructor", entity.getQualifiedName());
+        }
+    }
+
+    private Column column(VariableElement field, AnnotationMirror mirror) {
+        if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.FINAL)) {
+            error(field, "@ExcelColumn cannot be used on static or final field %s", field.getSimpleName());
+        }
+        Map<String, AnnotationValue> values = new HashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            values.put(entry.getKey().getSimpleName().toString(), entry.getValue());
+        }
+        Column column = new Column();
+        column.fieldName = field.getSimpleName().toString();
+        column.title = (String) values.get("title").getValue();
+        column.required = (Boolean) values.get("required").getValue();
+        column.maxLength = (Integer) values.get("maxLength").getValue();
+        String uniqueKey = (String) values.get("uniqueKey").getValue();
+        column.uniqueKey = uniqueKey.isEmpty() ? null : uniqueKey;
+        String exportFormat = (String) values.get("exportFormat").getValue();
+        column.exportFormat = exportFormat.isEmpty() ? null : exportFormat;
+        column.validator = handlerClass(field, values.get("validator"), "ValueValidator");
+        column.importResolver = handlerClass(field, values.get("importResolver"), "ValueImportResolver");
+        column.exportResolver = handlerClass(field, values.get("exportResolver"), "ValueExportResolver");
+
+        TypeMirror type = field.asType();
+        column.primitive = type.getKind().isPrimitive();
+        column.valueType = column.primitive
+                ? processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString()
+                : processingEnv.getTypeUtils().erasure(type).toString();
+        column.string = "java.lang.String".equals(column.valueType);
+        if (!column.string && column.importResolver == null) {
+            error(field, "@ExcelColumn field %s (%s) requires an importResolver", field.getSimpleName(), type);
+        }
+
+        String capitalized = Character.toUpperCase(column.fieldName.charAt(0)) + column.fieldName.substring(1);
+        if (field.getModifiers().contains(Modifier.PRIVATE)) {
+            column.setter = "set" + capitalized + "(%s)";
+            column.getter = (type.getKind() == TypeKind.BOOLEAN ? "is" : "get") + capitalized + "()";
+        } else {
+            column.setter = column.fieldName + " = %s";
+            column.getter = column.fieldName;
+        }
+        return column;
+    }
+
+    /**
+     * 处理器类需为非抽象类，且有非private的无参构造器
+     *
+     * @return 类名，未指定（注解默认值）时返回null
+     */
+    private String handlerClass(VariableElement field, AnnotationValue value, String defaultName) {
+        TypeElement type = (TypeElement) ((DeclaredType) value.getValue()).asElement();
+        String name = type.getQualifiedName().toString();
+        if (name.equals(CORE_PACKAGE + "." + defaultName)) {
+            return null;
+        }
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)
+                || type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)
+                || !hasNoArgConstructor(type)) {
+            error(field, "%s for field %s must be a concrete static class with a no-arg constructor", name, field.getSimpleName());
+        }
+        return name;
+    }
+
+    private static boolean hasNoArgConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private AnnotationMirror annotationOf(Element element, TypeElement annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (processingEnv.getTypeUtils().isSameType(mirror.getAnnotationType(), annotation.asType())) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 生成的类名：嵌套类以_连接外部类名，如 Outer.Inner -> Outer_InnerExcelMapping
+     */
+    private static String mappingName(TypeElement entity) {
+        StringBuilder name = new StringBuilder(entity.getSimpleName());
+        for (Element outer = entity.getEnclosingElement(); outer instanceof TypeElement; outer = outer.getEnclosingElement()) {
+            name.insert(0, outer.getSimpleName() + "_");
+        }
+        return name.append(MAPPING_SUFFIX).toString();
+    }
+
+    private void error(Element element, String format, Object... args) {
+        failed = true;
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(format, args), element);
+    }
+
+    /**
+     * 单个字段的映射
+     */
+    static final class Column {
+
+        String fieldName;
+
+        String title;
+
+        boolean required;
+
+        int maxLength;
+
+        /**
+         * 唯一约束名称（未指定时为null）
+         */
+        String uniqueKey;
+
+        String validator;
+
+        String importResolver;
+
+        String exportResolver;
+
+        /**
+         * 类型化导出的单元格格式（未指定时为null）
+         */
+        String exportFormat;
+
+        /**
+         * 字段类型（基本类型为对应的包装类型，泛型已擦除）
+         */
+        String valueType;
+
+        boolean primitive;
+
+        boolean string;
+
+        /**
+         * 写入表达式（%s为值），如 setName(%s) 或 name = %s
+         */
+        String setter;
+
+        /**
+         * 读取表达式，如 getName() 或 name
+         */
+        String getter;
+    }
+}
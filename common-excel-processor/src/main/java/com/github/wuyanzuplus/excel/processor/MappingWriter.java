@@ -0,0 +1,206 @@
+package com.github.wuyanzuplus.excel.processor;
+
+import java.util.List;
+
+/**
+ * 生成ExcelRowMapper的源码
+ *
+ * @author daniel.hu
+ */
+final class MappingWriter {
+
+    private final String packageName;
+
+    private final String className;
+
+    /**
+     * 实体的全限定名（生成的代码中始终使用全限定名，避免与Column等名称冲突）
+     */
+    private final String entityName;
+
+    private final List<ExcelColumnProcessor.Column> columns;
+
+    private final StringBuilder out = new StringBuilder(4096);
+
+    MappingWriter(String packageName, String className, String entityName, List<ExcelColumnProcessor.Column> columns) {
+        this.packageName = packageName;
+        this.className = className;
+        this.entityName = entityName;
+        this.columns = columns;
+    }
+
+    String write() {
+        if (!packageName.isEmpty()) {
+            line("package %s;", packageName).line("");
+        }
+        line("import com.github.wuyanzuplus.excel.core.ExcelHandler;");
+        line("import com.github.wuyanzuplus.excel.core.ExcelRowMapper;");
+        line("import com.github.wuyanzuplus.excel.core.ValueExportResolver;");
+        line("import com.github.wuyanzuplus.excel.core.ValueImportResolver;");
+        line("import com.github.wuyanzuplus.excel.core.ValueValidator;");
+        line("");
+        line("/**");
+        line(" * {@link %s}的Excel映射，由ExcelColumnProcessor根据@ExcelColumn生成，请勿修改", entityName);
+        line(" */");
+        line("public final class %s implements ExcelRowMapper<%s> {", className, entityName);
+        line("");
+        line("    public static final %s INSTANCE = new %s();", className, className);
+        line("");
+        line("    private static final ExcelHandler[] HANDLERS = Column.values();");
+        line("");
+        line("    private %s() {", className);
+        line("    }");
+        line("");
+        line("    @Override");
+        line("    public ExcelHandler[] getHandlers() {");
+        line("        return HANDLERS.clone();");
+        line("    }");
+        line("");
+        writeBind();
+        line("");
+        writeRead();
+        line("");
+        writeColumn();
+        line("}");
+        return out.toString();
+    }
+
+    private void writeBind() {
+        line("    @Override");
+        line("    public %s bind(String[] rowData) {", entityName);
+        line("        %s entity = new %s();", entityName, entityName);
+        for (int i = 0; i < columns.size(); i++) {
+            ExcelColumnProcessor.Column column = columns.get(i);
+            if (column.importResolver == null) {
+                // String字段，原样写入
+                line("        entity.%s;", String.format(column.setter, "rowData[" + i + "]"));
+            } else if (column.primitive) {
+                line("        Object value%d = Column.%s.resolveImportValue(rowData[%d]);", i, constantName(column.fieldName), i);
+                line("        if (value%d != null) {", i);
+                line("            entity.%s;", String.format(column.setter, "(" + column.valueType + ") value" + i));
+                line("        }");
+            } else {
+                line("        entity.%s;", String.format(column.setter,
+                        "(" + column.valueType + ") Column." + constantName(column.fieldName) + ".resolveImportValue(rowData[" + i + "])"));
+            }
+        }
+        line("        return entity;");
+        line("    }");
+    }
+
+    private void writeRead() {
+        line("    @Override");
+        line("    public Object read(%s entity, int index) {", entityName);
+        line("        switch (index) {");
+        for (int i = 0; i < columns.size(); i++) {
+            line("            case %d:", i);
+            line("                return entity.%s;", columns.get(i).getter);
+        }
+        line("            default:");
+        line("                throw new IndexOutOfBoundsException(String.valueOf(index));");
+        line("        }");
+        line("    }");
+    }
+
+    private void writeColumn() {
+        line("    /**");
+        line("     * 列定义（按字段声明顺序）");
+        line("     */");
+        line("    @SuppressWarnings(\"rawtypes\")");
+        line("    public enum Column implements ExcelHandler {");
+        for (int i = 0; i < columns.size(); i++) {
+            ExcelColumnProcessor.Column column = columns.get(i);
+            line("        %s(%s, %s, %s, %d, %s, %s, %s, %s, %s)%s", constantName(column.fieldName), literal(column.title), literal(column.fieldName),
+                    column.required, column.maxLength, instance(column.validator), instance(column.importResolver), instance(column.exportResolver),
+                    nullableLiteral(column.uniqueKey), nullableLiteral(column.exportFormat), i == columns.size() - 1 ? ";" : ",");
+        }
+        line("");
+        line("        private final String titleName;");
+        line("        private final String fieldName;");
+        line("        private final boolean required;");
+        line("        private final int maxLength;");
+        line("        private final ValueValidator valueValidator;");
+        line("        private final ValueImportResolver valueImportResolver;");
+        line("        private final ValueExportResolver valueExportResolver;");
+        line("        private final String uniqueKey;");
+        line("        private final String exportFormat;");
+        line("");
+        line("        Column(String titleName, String fieldName, boolean required, int maxLength, ValueValidator valueValidator,");
+        line("               ValueImportResolver valueImportResolver, ValueExportResolver valueExportResolver, String uniqueKey,");
+        line("               String exportFormat) {");
+        line("            this.titleName = titleName;");
+        line("            this.fieldName = fieldName;");
+        line("            this.required = required;");
+        line("            this.maxLength = maxLength;");
+        line("            this.valueValidator = valueValidator;");
+        line("            this.valueImportResolver = valueImportResolver;");
+        line("            this.valueExportResolver = valueExportResolver;");
+        line("            this.uniqueKey = uniqueKey;");
+        line("            this.exportFormat = exportFormat;");
+        line("        }");
+        getter("String", "getTitleName", "titleName");
+        getter("String", "getFieldName", "fieldName");
+        getter("boolean", "isRequired", "required");
+        getter("int", "getMaxLength", "maxLength");
+        getter("ValueValidator", "getValueValidator", "valueValidator");
+        getter("ValueImportResolver", "getValueImportResolver", "valueImportResolver");
+        getter("ValueExportResolver", "getValueExportResolver", "valueExportResolver");
+        getter("String", "getUniqueKey", "uniqueKey");
+        getter("String", "getExportFormat", "exportFormat");
+        line("    }");
+    }
+
+    private void getter(String type, String name, String field) {
+        line("");
+        line("        @Override");
+        line("        public %s %s() {", type, name);
+        line("            return %s;", field);
+        line("        }");
+    }
+
+    private MappingWriter line(String format, Object... args) {
+        out.append(args.length == 0 ? format : String.format(format, args)).append('\n');
+        return this;
+    }
+
+    private static String instance(String className) {
+        return className == null ? "null" : "new " + className + "()";
+    }
+
+    private static String nullableLiteral(String value) {
+        return value == null ? "null" : literal(value);
+    }
+
+    /**
+     * 字段名 -> 枚举常量名，如 apiName -> API_NAME
+     */
+    static String constantName(String fieldName) {
+        StringBuilder name = new StringBuilder(fieldName.length() + 4);
+        for (int i = 0; i < fieldName.length(); i++) {
+            char c = fieldName.charAt(i);
+            if (i > 0 && Character.isUpperCase(c) && !Character.isUpperCase(fieldName.charAt(i - 1))) {
+                name.append('_');
+            }
+            name.append(Character.toUpperCase(c));
+        }
+        return name.toString();
+    }
+
+    /**
+     * Java字符串字面量（非ASCII字符转义，与源码编码无关）
+     */
+    static String literal(String value) {
+        StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                literal.append(String.format("\\u%04x", (int) c));
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.wuyanzuplus.excel.processor;
+
+import com.github.wuyanzuplus.excel.core.ExcelBaseView;
+import com.github.wuyanzuplus.excel.core.ExcelHandler;
+import com.github.wuyanzuplus.excel.core.ExcelImportErrorEnum;
+import com.github.wuyanzuplus.excel.core.ExcelReadOptions;
+import com.github.wuyanzuplus.excel.core.ExcelRowMapper;
+import com.github.wuyanzuplus.excel.core.ExcelUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author daniel.hu
+ */
+public class ExcelColumnProcessorTest {
+
+    @Test
+    public void 生成的映射_按字段声明顺序() {
+        ExcelHandler[] handlers = OrderRowExcelMapping.INSTANCE.getHandlers();
+        assertThat(handlers).extracting(ExcelHandler::getTitleName).containsExactly("订单号", "客户", "数量", "已支付");
+        assertThat(handlers).extracting(ExcelHandler::getFieldName).containsExactly("orderNo", "customer", "quantity", "paid");
+        assertThat(OrderRowExcelMapping.Column.ORDER_NO.isRequired()).isTrue();
+        assertThat(OrderRowExcelMapping.Column.ORDER_NO.getMaxLength()).isEqualTo(20);
+        assertThat(OrderRowExcelMapping.Column.ORDER_NO.getUniqueKey()).isEqualTo("orderNo");
+        assertThat(OrderRowExcelMapping.Column.CUSTOMER.getUniqueKey()).isNull();
+        assertThat(OrderRowExcelMapping.Column.CUSTOMER.getMaxLength()).isEqualTo(255);
+        assertThat(OrderRowExcelMapping.Column.PAID.getValueValidator()).isInstanceOf(OrderRow.PaidValidator.class);
+    }
+
+    @Test
+    public void 导入_使用生成的映射() throws IOException {
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet("订单");
+        String[][] rows = {
+                {"订单号", "客户", "数量", "已支付"},
+                {"A001", "张三", "3", "是"},
+                {"A002", "", "5", "未知"},
+                {"A003", "李四", "", "否"},
+                {"A001", "王五", "1", "否"},
+        };
+        for (int r = 0; r < rows.length; r++) {
+            Row row = sheet.createRow(r);
+            for (int c = 0; c < rows[r].length; c++) {
+                row.createCell(c).setCellValue(rows[r][c]);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        MockMultipartFile file = new MockMultipartFile("file", "订单.xlsx", "multipart/form-data", out.toByteArray());
+
+        Map<String, List<String>> errorMap = new HashMap<>();
+        List<OrderRow> orders = ExcelUtil.parseExcel(file, OrderRowExcelMapping.INSTANCE, errorMap, ExcelReadOptions.DEFAULT);
+        assertThat(orders).hasSize(1);
+        assertThat(orders.get(0))
+                .hasFieldOrPropertyWithValue("orderNo", "A001")
+                .hasFieldOrPropertyWithValue("customer", "张三")
+                .hasFieldOrPropertyWithValue("quantity", 3)
+                .hasFieldOrPropertyWithValue("paid", true);
+        assertThat(errorMap).containsEntry(ExcelImportErrorEnum.CONTENT_BEYOND_RANGE.name(), Collections.singletonList("D3"))
+                .containsEntry(ExcelImportErrorEnum.NULL_VALUE.name(), Collections.singletonList("C4"))
+                .containsEntry(ExcelImportErrorEnum.DUPLICATE_VALUE.name(), Collections.singletonList("A5"));
+    }
+
+    @Test
+    public void 导出_使用生成的映射() throws Exception {
+        OrderRow order = new OrderRow();
+        order.setOrderNo("A001");
+        order.setCustomer("张三");
+        order.setQuantity(3);
+        order.setPaid(true);
+        Map<String, Object> model = new HashMap<>();
+        model.put(ExcelUtil.EXCEL_EXPORT_DATA_KEY, Arrays.asList(order, new OrderRow()));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("User-Agent", "Mozilla/5.0");
+        Workbook workbook = new XSSFWorkbook();
+
+        new OrderView().buildExcelDocument(model, workbook, request, new MockHttpServletResponse());
+
+        Sheet sheet = workbook.getSheetAt(0);
+        assertThat(sheet.getRow(0).getCell(3).getStringCellValue()).isEqualTo("已支付");
+        Row row = sheet.getRow(1);
+        assertThat(row.getCell(0).getStringCellValue()).isEqualTo("A001");
+        assertThat(row.getCell(1).getStringCellValue()).isEqualTo("张三");
+        assertThat(row.getCell(2).getNumericCellValue()).isEqualTo(3);
+        assertThat(row.getCell(2).getCellStyle().getDataFormatString()).isEqualTo("0");
+        assertThat(row.getCell(3).getStringCellValue()).isEqualTo("是");
+        assertThat(sheet.getRow(2).getCell(0).getStringCellValue()).isEmpty();
+        assertThat(sheet.getRow(2).getCell(3).getStringCellValue()).isEqualTo("否");
+    }
+
+    static class OrderView extends ExcelBaseView<OrderRow> {
+
+        OrderView() {
+            super("订单导出", "订单", new ExcelHandler[0]);
+        }
+
+        @Override
+        protected ExcelRowMapper<OrderRow> getRowMapper() {
+            return OrderRowExcelMapping.INSTANCE;
+        }
+
+        @Override
+        public void buildExcelDocument(Map<String, Object> map, Workbook workbook, HttpServletRequest request, HttpServletResponse response) throws Exception {
+            super.buildExcelDocument(map, workbook, request, response);
+        }
+    }
+}
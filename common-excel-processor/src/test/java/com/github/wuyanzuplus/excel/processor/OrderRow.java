@@ -0,0 +1,61 @@
+package com.github.wuyanzuplus.excel.processor;
+
+import com.github.wuyanzuplus.excel.core.ExcelColumn;
+import com.github.wuyanzuplus.excel.core.ExcelImportErrorEnum;
+import com.github.wuyanzuplus.excel.core.ValueExportResolver;
+import com.github.wuyanzuplus.excel.core.ValueImportResolver;
+import com.github.wuyanzuplus.excel.core.ValueValidator;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 订单导入导出实体（映射由ExcelColumnProcessor生成）
+ *
+ * @author daniel.hu
+ */
+@Getter
+@Setter
+public class OrderRow {
+
+    @ExcelColumn(title = "订单号", required = true, maxLength = 20, uniqueKey = "orderNo")
+    private String orderNo;
+
+    @ExcelColumn(title = "客户")
+    String customer;
+
+    @ExcelColumn(title = "数量", required = true, importResolver = QuantityResolver.class, exportFormat = "0")
+    private int quantity;
+
+    @ExcelColumn(title = "已支付", validator = PaidValidator.class, importResolver = PaidResolver.class, exportResolver = PaidExporter.class)
+    private boolean paid;
+
+    private String memo;
+
+    public static class QuantityResolver implements ValueImportResolver<Integer> {
+        @Override
+        public Integer importResolve(String val) {
+            return val.isEmpty() ? null : Integer.valueOf(val);
+        }
+    }
+
+    public static class PaidValidator implements ValueValidator {
+        @Override
+        public String checkValue(String val) {
+            return "是".equals(val) || "否".equals(val) ? null : ExcelImportErrorEnum.CONTENT_BEYOND_RANGE.name();
+        }
+    }
+
+    public static class PaidResolver implements ValueImportResolver<Boolean> {
+        @Override
+        public Boolean importResolve(String val) {
+            return "是".equals(val);
+        }
+    }
+
+    public static class PaidExporter implements ValueExportResolver {
+        @Override
+        public String exportResolve(Object val) {
+            return Boolean.TRUE.equals(val) ? "是" : "否";
+        }
+    }
+}
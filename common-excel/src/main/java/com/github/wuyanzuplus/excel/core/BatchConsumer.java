@@ -0,0 +1,19 @@
+package com.github.wuyanzuplus.excel.core;
+
+import java.util.List;
+
+/**
+ * 导入批量数据消费者（如JPA saveAll），按读取顺序接收固定大小的批次
+ *
+ * @author daniel.hu
+ */
+@FunctionalInterface
+public interface BatchConsumer<T> {
+
+    /**
+     * 消费一批转换后的数据
+     *
+     * @param batch 目标实体（保持excel中的行顺序，消费者可直接持有）
+     */
+    void accept(List<T> batch);
+}
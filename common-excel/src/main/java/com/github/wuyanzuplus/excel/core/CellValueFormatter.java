@@ -0,0 +1,236 @@
+package com.github.wuyanzuplus.excel.core;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCell;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * 单元格值格式化（DOM与流式读取共用）
+ * <pre>
+ *     日期：yyyy-MM-dd；数值：含小数点的转换为Double类型的字符串，否则原样输出；布尔：true/false；错误：错误码；公式：公式本身
+ *     每个样式是否为日期格式只判断一次，数值直接转为文本，不修改workbook（原实现通过setCellType(STRING)转换）
+ *     非线程安全，每次读取创建一个实例
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+final class CellValueFormatter {
+
+    private static final String EMPTY = "";
+
+    private static final String DATE_PATTERN = "yyyy-MM-dd";
+
+    private static final byte UNKNOWN = 0;
+
+    private static final byte DATE = 1;
+
+    private static final byte NOT_DATE = 2;
+
+    /**
+     * 样式下标 -> 是否为日期格式（未缓存时调用）
+     */
+    private final IntPredicate dateStyleResolver;
+
+    /**
+     * FastDateFormat线程安全，按读取开始时的默认时区创建，与DateFormatUtils.format结果一致
+     */
+    private final FastDateFormat dateFormat = FastDateFormat.getInstance(DATE_PATTERN);
+
+    private byte[] dateStyles = new byte[32];
+
+    CellValueFormatter(IntPredicate dateStyleResolver) {
+        this.dateStyleResolver = dateStyleResolver;
+    }
+
+    /**
+     * DOM方式（HSSFWorkbook/XSSFWorkbook）
+     */
+    static CellValueFormatter of(Workbook workbook) {
+        return new CellValueFormatter(styleIndex -> {
+            if (workbook.getNumCellStyles() <= 0) {
+                return false;
+            }
+            CellStyle style = workbook.getCellStyleAt(styleIndex);
+            return style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+        });
+    }
+
+    /**
+     * xlsx流式读取
+     */
+    static CellValueFormatter of(StylesTable stylesTable) {
+        return new CellValueFormatter(styleIndex -> {
+            if (stylesTable == null || stylesTable.getNumCellStyles() <= 0) {
+                return false;
+            }
+            XSSFCellStyle style = stylesTable.getStyleAt(styleIndex);
+            return style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+        });
+    }
+
+    /**
+     * 处理单元格格式（DOM方式）
+     *
+     * @param cell 单元格
+     * @return string
+     */
+    String formatCell(Cell cell) {
+        if (cell == null) {
+            return EMPTY;
+        }
+        switch (cell.getCellType()) {
+            // 数值类型(whole numbers, fractional numbers, dates)
+            case NUMERIC:
+                if (cell instanceof XSSFCell) {
+                    // xlsx直接使用<v>中的原文，与setCellType(STRING)的结果一致
+                    return formatNumeric(cell.getNumericCellValue(), ((XSSFCell) cell).getCTCell().getV(), styleIndexOf((XSSFCell) cell));
+                }
+                return formatNumeric(cell.getNumericCellValue(), cell.getCellStyle().getIndex());
+            case STRING:
+                return cell.getStringCellValue();
+            // 表达式
+            case FORMULA:
+                return cell.getCellFormula();
+            case BLANK:
+                return EMPTY;
+            case BOOLEAN:
+                return String.valueOf(cell.getBooleanCellValue());
+            case ERROR:
+                return String.valueOf(cell.getErrorCellValue());
+            default:
+        }
+        return EMPTY;
+    }
+
+    /**
+     * 读取单元格（DOM方式）：数值/日期/布尔单元格保留原始值，其它单元格格式化为文本
+     *
+     * @param cell 单元格
+     * @param row  行数据
+     * @param i    写入的列
+     */
+    void readCell(Cell cell, TypedRow row, int i) {
+        if (cell == null) {
+            row.setText(i, EMPTY);
+            return;
+        }
+        switch (cell.getCellType()) {
+            case NUMERIC:
+                double value = cell.getNumericCellValue();
+                int styleIndex = cell instanceof XSSFCell ? styleIndexOf((XSSFCell) cell) : cell.getCellStyle().getIndex();
+                row.setNumber(i, value, isDate(value, styleIndex));
+                return;
+            case BOOLEAN:
+                row.setBoolean(i, cell.getBooleanCellValue());
+                return;
+            default:
+                row.setText(i, formatCell(cell));
+        }
+    }
+
+    private static int styleIndexOf(XSSFCell cell) {
+        CTCell ctCell = cell.getCTCell();
+        return ctCell.isSetS() ? (int) ctCell.getS() : 0;
+    }
+
+    /**
+     * 数值是否按日期处理（与格式化为文本时的规则一致）
+     *
+     * @param value      数值
+     * @param styleIndex 样式下标
+     */
+    boolean isDate(double value, int styleIndex) {
+        return DateUtil.isValidExcelDate(value) && isDateStyle(styleIndex);
+    }
+
+    /**
+     * 处理数值单元格（xlsx），raw为单元格中数值的原文
+     *
+     * @param value      数值
+     * @param raw        数值原文（Double.parseDouble(raw) == value）
+     * @param styleIndex 样式下标
+     */
+    String formatNumeric(double value, String raw, int styleIndex) {
+        if (isDate(value, styleIndex)) {
+            return formatDate(value);
+        }
+        // 判断是否包含小数点，如果不含小数点，则以字符串读取，如果含小数点，则转换为Double类型的字符串
+        if (raw.indexOf('.') >= 0) {
+            return Double.toString(value);
+        }
+        return raw.trim();
+    }
+
+    /**
+     * 处理数值单元格（xls），数值以Excel的显示规则（NumberToTextConverter）转为文本
+     *
+     * @param value      数值
+     * @param styleIndex 样式（XF）下标
+     */
+    String formatNumeric(double value, int styleIndex) {
+        if (isDate(value, styleIndex)) {
+            return formatDate(value);
+        }
+        return formatNumber(value);
+    }
+
+    /**
+     * 数值以Excel的显示规则（NumberToTextConverter）转为文本，与单元格类型无关
+     */
+    static String formatNumber(double value) {
+        String text = NumberToTextConverter.toText(value);
+        // 文本最多保留15位有效数字，需重新解析才能与原实现保持一致
+        if (text.indexOf('.') >= 0) {
+            return Double.toString(Double.parseDouble(text));
+        }
+        return text;
+    }
+
+    /**
+     * 行数据中单元格的文本：原始值单元格（数值/日期/布尔）按读取为文本时的规则格式化
+     *
+     * @param row 行数据
+     * @param i   列
+     */
+    static String textOf(TypedRow row, int i) {
+        switch (row.getType(i)) {
+            case TypedRow.NUMERIC:
+                return formatNumber(row.getNumber(i));
+            case TypedRow.DATE:
+                return FastDateFormat.getInstance(DATE_PATTERN).format(DateUtil.getJavaDate(row.getNumber(i)));
+            case TypedRow.BOOLEAN:
+                return String.valueOf(row.getBoolean(i));
+            default:
+                return row.getText(i);
+        }
+    }
+
+    private String formatDate(double value) {
+        return dateFormat.format(DateUtil.getJavaDate(value));
+    }
+
+    private boolean isDateStyle(int styleIndex) {
+        if (styleIndex < 0) {
+            return false;
+        }
+        if (styleIndex >= dateStyles.length) {
+            dateStyles = Arrays.copyOf(dateStyles, Math.max(styleIndex + 1, dateStyles.length * 2));
+        }
+        byte cached = dateStyles[styleIndex];
+        if (cached == UNKNOWN) {
+            cached = dateStyleResolver.test(styleIndex) ? DATE : NOT_DATE;
+            dateStyles[styleIndex] = cached;
+        }
+        return cached == DATE;
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.wuyanzuplus.excel.core;
+
+import java.util.Arrays;
+
+/**
+ * 列投影：只读取、格式化被映射的列
+ * <pre>
+ *     columns：输出行第k列 -> sheet列下标（-1表示该列不存在，输出""）
+ *     slots：sheet列下标 -> 输出行的列（-1表示不读取），由columns反推，读取时每个单元格只需一次数组访问
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+final class ColumnProjection {
+
+    private ColumnProjection() {
+    }
+
+    /**
+     * 按标题名称（而非位置）匹配每个枚举对应的列，同名标题按出现顺序依次匹配
+     *
+     * @param titles   标题行
+     * @param handlers 枚举值（all）
+     * @return 枚举下标 -> sheet列下标（-1表示标题中不存在）
+     */
+    static int[] byTitle(String[] titles, ExcelHandler[] handlers) {
+        int[] columns = new int[handlers.length];
+        boolean[] used = new boolean[titles.length];
+        for (int i = 0; i < handlers.length; i++) {
+            columns[i] = -1;
+            String titleName = handlers[i].getTitleName();
+            for (int col = 0; col < titles.length; col++) {
+                if (!used[col] && titleName.equals(titles[col])) {
+                    used[col] = true;
+                    columns[i] = col;
+                    break;
+                }
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * 读取前n列
+     */
+    static int[] identity(int n) {
+        int[] columns = new int[n];
+        for (int i = 0; i < n; i++) {
+            columns[i] = i;
+        }
+        return columns;
+    }
+
+    /**
+     * columns -> slots
+     */
+    static int[] toSlots(int[] columns) {
+        int max = -1;
+        for (int column : columns) {
+            max = Math.max(max, column);
+        }
+        int[] slots = new int[max + 1];
+        Arrays.fill(slots, -1);
+        for (int k = 0; k < columns.length; k++) {
+            if (columns[k] >= 0) {
+                slots[columns[k]] = k;
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * sheet列对应的输出列（-1表示不读取）
+     */
+    static int slotOf(int[] slots, int column) {
+        return column >= 0 && column < slots.length ? slots[column] : -1;
+    }
+}
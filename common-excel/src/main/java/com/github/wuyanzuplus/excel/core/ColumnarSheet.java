@@ -0,0 +1,199 @@
+package com.github.wuyanzuplus.excel.core;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按列存储的sheet数据（字典编码）：每列只保存一份不重复的值，行中的单元格以int编码引用字典
+ * <pre>
+ *     适用于枚举类（"权限管理"、"系统"等）取值较少的sheet，重复值只占4个字节；
+ *     首行为标题行，行列下标与{@link ExcelUtil#readExcelWithFirstSheet}返回的List&lt;String[]&gt;一致，
+ *     只有标题行（或无数据）的sheet视为空；读取完成后不可修改，可在多个线程中共享
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+public final class ColumnarSheet {
+
+    private static final ColumnarSheet EMPTY = new ColumnarSheet(0, new String[0][], new int[0][]);
+
+    private final int rowCount;
+
+    /**
+     * 列下标 -> 该列的字典（编码 -> 值）
+     */
+    private final String[][] dictionaries;
+
+    /**
+     * 列下标 -> 该列每行的编码
+     */
+    private final int[][] codes;
+
+    private ColumnarSheet(int rowCount, String[][] dictionaries, int[][] codes) {
+        this.rowCount = rowCount;
+        this.dictionaries = dictionaries;
+        this.codes = codes;
+    }
+
+    /**
+     * 行数（含标题行）
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 列数
+     */
+    public int getColumnCount() {
+        return codes.length;
+    }
+
+    public boolean isEmpty() {
+        return rowCount == 0;
+    }
+
+    /**
+     * 单元格的值
+     *
+     * @param rowIndex    行下标（0为标题行）
+     * @param columnIndex 列下标
+     */
+    public String getValue(int rowIndex, int columnIndex) {
+        return dictionaries[columnIndex][codes[columnIndex][rowIndex]];
+    }
+
+    /**
+     * 一行数据（每次调用生成新的数组）
+     *
+     * @param rowIndex 行下标（0为标题行）
+     */
+    public String[] getRow(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= rowCount) {
+            throw new IndexOutOfBoundsException("Row index: " + rowIndex + ", row count: " + rowCount);
+        }
+        String[] row = new String[codes.length];
+        for (int c = 0; c < codes.length; c++) {
+            row[c] = dictionaries[c][codes[c][rowIndex]];
+        }
+        return row;
+    }
+
+    /**
+     * 一列数据（只读视图，不复制数据）
+     *
+     * @param columnIndex 列下标
+     */
+    public List<String> getColumn(int columnIndex) {
+        String[] dictionary = dictionaries[columnIndex];
+        int[] columnCodes = codes[columnIndex];
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                return dictionary[columnCodes[index]];
+            }
+
+            @Override
+            public int size() {
+                return columnCodes.length;
+            }
+        };
+    }
+
+    /**
+     * 一列中不重复的值（按首次出现的顺序）
+     *
+     * @param columnIndex 列下标
+     */
+    public List<String> getDistinctValues(int columnIndex) {
+        return Collections.unmodifiableList(Arrays.asList(dictionaries[columnIndex]));
+    }
+
+    /**
+     * 转换为按行存储的数据，供原有按List&lt;String[]&gt;处理的代码使用
+     */
+    public List<String[]> toRows() {
+        List<String[]> rows = new ArrayList<>(rowCount);
+        for (int r = 0; r < rowCount; r++) {
+            rows.add(getRow(r));
+        }
+        return rows;
+    }
+
+    /**
+     * 逐行收集sheet数据，读取完成后调用{@link #build()}
+     */
+    static final class Builder implements SheetRowCallback {
+
+        private final List<ColumnBuilder> columns = new ArrayList<>();
+
+        private int rowCount;
+
+        private int lastRowNum = -1;
+
+        @Override
+        public void onRow(int rowNum, String[] rowData) {
+            while (columns.size() < rowData.length) {
+                // 之前的行中不存在的列以""补齐
+                columns.add(new ColumnBuilder(rowCount));
+            }
+            for (int c = 0; c < columns.size(); c++) {
+                columns.get(c).add(c < rowData.length ? rowData[c] : "");
+            }
+            rowCount++;
+            lastRowNum = Math.max(lastRowNum, rowNum);
+        }
+
+        ColumnarSheet build() {
+            if (lastRowNum <= 0) {
+                return EMPTY;
+            }
+            String[][] dictionaries = new String[columns.size()][];
+            int[][] codes = new int[columns.size()][];
+            for (int c = 0; c < columns.size(); c++) {
+                ColumnBuilder column = columns.get(c);
+                dictionaries[c] = column.values.toArray(new String[0]);
+                codes[c] = Arrays.copyOf(column.codes, column.size);
+            }
+            return new ColumnarSheet(rowCount, dictionaries, codes);
+        }
+    }
+
+    private static final class ColumnBuilder {
+
+        /**
+         * 值 -> 编码，只在读取时使用
+         */
+        private final Map<String, Integer> codesByValue = new HashMap<>();
+
+        private final List<String> values = new ArrayList<>();
+
+        private int[] codes = new int[64];
+
+        private int size;
+
+        ColumnBuilder(int emptyRows) {
+            for (int i = 0; i < emptyRows; i++) {
+                add("");
+            }
+        }
+
+        void add(String value) {
+            Integer code = codesByValue.get(value);
+            if (code == null) {
+                code = values.size();
+                values.add(value);
+                codesByValue.put(value, code);
+            }
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, size * 2);
+            }
+            codes[size++] = code;
+        }
+    }
+}
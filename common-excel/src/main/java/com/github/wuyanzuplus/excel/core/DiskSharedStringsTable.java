@@ -0,0 +1,268 @@
+package com.github.wuyanzuplus.excel.core;
+
+import org.apache.poi.ooxml.util.SAXHelper;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.util.TempFile;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 写入临时文件的只读共享字符串表：字符串以UTF-8写入临时文件并以内存映射方式读取，堆内只保留偏移量索引与少量解码缓存
+ * <pre>
+ *     解析规则与ReadOnlySharedStringsTable(pkg, false)一致（不包含注音）；
+ *     索引为long[]（每个字符串8字节），最近读取的字符串保存在LRU缓存中；
+ *     读取线程安全（并发解析sheet时共享），使用完毕后需调用close()删除临时文件
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+final class DiskSharedStringsTable implements SharedStrings, Closeable {
+
+    /**
+     * 每段映射的字节数（单个MappedByteBuffer最大2G）
+     */
+    private static final int SEGMENT_SIZE = 1 << 30;
+
+    private final File file;
+
+    private final Map<Integer, String> cache;
+
+    private RandomAccessFile raf;
+
+    private MappedByteBuffer[] segments;
+
+    /**
+     * 第i个字符串位于[offsets[i], offsets[i + 1])
+     */
+    private long[] offsets = new long[1024];
+
+    private int count;
+
+    private int uniqueCount;
+
+    /**
+     * @param pkg       xlsx文件
+     * @param cacheSize 解码缓存的字符串个数
+     */
+    DiskSharedStringsTable(OPCPackage pkg, int cacheSize) throws IOException {
+        this.file = TempFile.createTempFile("excel-sst", ".tmp");
+        this.cache = new LinkedHashMap<Integer, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        try {
+            List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 64 * 1024)) {
+                if (!parts.isEmpty()) {
+                    try (InputStream in = parts.get(0).getInputStream()) {
+                        XMLReader parser = SAXHelper.newXMLReader();
+                        parser.setContentHandler(new SharedStringsHandler(out));
+                        parser.parse(new InputSource(in));
+                    }
+                }
+            }
+            map();
+        } catch (Exception e) {
+            close();
+            throw e instanceof IOException ? (IOException) e : new IOException(e);
+        }
+    }
+
+    private void map() throws IOException {
+        raf = new RandomAccessFile(file, "r");
+        FileChannel channel = raf.getChannel();
+        long size = channel.size();
+        segments = new MappedByteBuffer[(int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+        for (int i = 0; i < segments.length; i++) {
+            long position = (long) i * SEGMENT_SIZE;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, size - position));
+        }
+    }
+
+    @Override
+    public RichTextString getItemAt(int idx) {
+        return new XSSFRichTextString(getEntryAt(idx));
+    }
+
+    /**
+     * 第idx个字符串
+     */
+    String getEntryAt(int idx) {
+        if (idx < 0 || idx >= uniqueCount) {
+            throw new IndexOutOfBoundsException("Index: " + idx + ", Size: " + uniqueCount);
+        }
+        synchronized (cache) {
+            String value = cache.get(idx);
+            if (value != null) {
+                return value;
+            }
+        }
+        String value = new String(read(offsets[idx], (int) (offsets[idx + 1] - offsets[idx])), StandardCharsets.UTF_8);
+        synchronized (cache) {
+            cache.put(idx, value);
+        }
+        return value;
+    }
+
+    /**
+     * 读取[position, position + length)，字符串可能跨越两段映射
+     */
+    private byte[] read(long position, int length) {
+        byte[] bytes = new byte[length];
+        int copied = 0;
+        while (copied < length) {
+            long current = position + copied;
+            // duplicate()后各线程的position互不影响
+            ByteBuffer segment = segments[(int) (current / SEGMENT_SIZE)].duplicate();
+            segment.position((int) (current % SEGMENT_SIZE));
+            int n = Math.min(length - copied, segment.remaining());
+            segment.get(bytes, copied, n);
+            copied += n;
+        }
+        return bytes;
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public int getUniqueCount() {
+        return uniqueCount;
+    }
+
+    @Override
+    public void close() {
+        segments = null;
+        try {
+            if (raf != null) {
+                raf.close();
+            }
+        } catch (IOException e) {
+            // ignore
+        }
+        // 映射在GC前无法释放，部分平台（Windows）此时无法删除文件
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    /**
+     * 解析sharedStrings.xml，每个si写入临时文件
+     */
+    private final class SharedStringsHandler extends DefaultHandler {
+
+        private final OutputStream out;
+
+        private final StringBuilder characters = new StringBuilder(64);
+
+        private long position;
+
+        private boolean tIsOpen;
+
+        private boolean inRPh;
+
+        SharedStringsHandler(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (uri != null && !uri.equals(XSSFRelation.NS_SPREADSHEETML)) {
+                return;
+            }
+            switch (localName) {
+                case "sst":
+                    String countValue = attributes.getValue("count");
+                    if (countValue != null) {
+                        count = Integer.parseInt(countValue);
+                    }
+                    String uniqueCountValue = attributes.getValue("uniqueCount");
+                    if (uniqueCountValue != null) {
+                        // uniqueCount只作为初始容量的参考，不完全信任文件中的值
+                        offsets = new long[Math.min(Integer.parseInt(uniqueCountValue), 1 << 20) + 1];
+                    }
+                    break;
+                case "si":
+                    characters.setLength(0);
+                    break;
+                case "t":
+                    tIsOpen = true;
+                    break;
+                case "rPh":
+                    inRPh = true;
+                    break;
+                default:
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            if (uri != null && !uri.equals(XSSFRelation.NS_SPREADSHEETML)) {
+                return;
+            }
+            switch (localName) {
+                case "si":
+                    append(characters.toString());
+                    break;
+                case "t":
+                    tIsOpen = false;
+                    break;
+                case "rPh":
+                    inRPh = false;
+                    break;
+                default:
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (tIsOpen && !inRPh) {
+                characters.append(ch, start, length);
+            }
+        }
+
+        private void append(String value) throws SAXException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            try {
+                out.write(bytes);
+            } catch (IOException e) {
+                throw new SAXException(e);
+            }
+            if (uniqueCount + 1 >= offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[uniqueCount] = position;
+            position += bytes.length;
+            offsets[++uniqueCount] = position;
+        }
+    }
+}
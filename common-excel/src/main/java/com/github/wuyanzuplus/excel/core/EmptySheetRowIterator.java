@@ -0,0 +1,27 @@
+package com.github.wuyanzuplus.excel.core;
+
+import java.util.NoSuchElementException;
+
+/**
+ * 空sheet行迭代器
+ *
+ * @author daniel.hu
+ */
+enum EmptySheetRowIterator implements SheetRowIterator {
+    INSTANCE;
+
+    @Override
+    public boolean hasNext() {
+        return false;
+    }
+
+    @Override
+    public String[] next() {
+        throw new NoSuchElementException();
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.wuyanzuplus.excel.core;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 枚举列的校验器 + 导入/导出值处理器：按预先计算的不可变映射（文本 -> 枚举常量）查找，不通过valueOf抛出异常
+ * <pre>
+ *     同一个实例可同时作为ExcelHandler的ValueValidator与ValueImportResolver，校验与转换使用同一份映射；
+ *     线程安全，按名称匹配的实例按枚举类缓存
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+public final class EnumValueResolver<E extends Enum<E>> implements ValueValidator, ValueImportResolver<E>, ValueExportResolver {
+
+    private static final ClassValue<EnumValueResolver<?>> BY_NAME = new ClassValue<EnumValueResolver<?>>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected EnumValueResolver<?> computeValue(Class<?> type) {
+            return new EnumValueResolver(type, (Function<Enum, String>) Enum::name);
+        }
+    };
+
+    /**
+     * 文本 -> 枚举常量
+     */
+    private final Map<String, E> constants;
+
+    private final Function<? super E, String> keyExtractor;
+
+    private EnumValueResolver(Class<E> enumClass, Function<? super E, String> keyExtractor) {
+        E[] values = enumClass.getEnumConstants();
+        Map<String, E> map = new HashMap<>(values.length * 2);
+        for (E value : values) {
+            String key = keyExtractor.apply(value);
+            if (map.put(key, value) != null) {
+                throw new IllegalArgumentException(String.format("Duplicate key %s in %s", key, enumClass.getName()));
+            }
+        }
+        this.constants = Collections.unmodifiableMap(map);
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * 按枚举名称（name()）匹配
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> EnumValueResolver<E> of(Class<E> enumClass) {
+        return (EnumValueResolver<E>) BY_NAME.get(enumClass);
+    }
+
+    /**
+     * 按自定义文本匹配（如枚举的中文描述），导出时输出同一文本
+     *
+     * @param keyExtractor 枚举常量 -> Excel中的文本（不可重复）
+     */
+    public static <E extends Enum<E>> EnumValueResolver<E> of(Class<E> enumClass, Function<? super E, String> keyExtractor) {
+        return new EnumValueResolver<>(enumClass, keyExtractor);
+    }
+
+    @Override
+    public String checkValue(String val) {
+        return constants.containsKey(val) ? null : ExcelImportErrorEnum.CONTENT_BEYOND_RANGE.name();
+    }
+
+    /**
+     * @return 枚举常量，不存在时返回null
+     */
+    @Override
+    public E importResolve(String val) {
+        return val == null ? null : constants.get(val);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public String exportResolve(Object val) {
+        return val == null ? "" : keyExtractor.apply((E) val);
+    }
+}
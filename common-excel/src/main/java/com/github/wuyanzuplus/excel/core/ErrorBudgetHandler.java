@@ -0,0 +1,38 @@
+package com.github.wuyanzuplus.excel.core;
+
+/**
+ * 错误数上限：错误数达到上限时抛出异常，停止解析（包括流式读取）
+ *
+ * @author daniel.hu
+ */
+final class ErrorBudgetHandler implements RowErrorHandler {
+
+    private final RowErrorHandler delegate;
+
+    private final int maxErrors;
+
+    private int count;
+
+    private ErrorBudgetHandler(RowErrorHandler delegate, int maxErrors) {
+        this.delegate = delegate;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * @param delegate  错误记录（为null时代表不统计错误，仍计数）
+     * @param maxErrors 错误数上限（小于等于0时不限制）
+     */
+    static RowErrorHandler of(RowErrorHandler delegate, int maxErrors) {
+        return maxErrors > 0 ? new ErrorBudgetHandler(delegate, maxErrors) : delegate;
+    }
+
+    @Override
+    public void onError(int rowNum, int colNum, String error) {
+        if (delegate != null) {
+            delegate.onError(rowNum, colNum, error);
+        }
+        if (++count >= maxErrors) {
+            throw new ExcelResolvingException(ExcelImportErrorEnum.TOO_MANY_ERRORS.getValue());
+        }
+    }
+}
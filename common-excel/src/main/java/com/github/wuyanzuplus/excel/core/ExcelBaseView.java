@@ -1,9 +1,9 @@
 package com.github.wuyanzuplus.excel.core;
 
-import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.reflect.FieldUtils;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
@@ -11,19 +11,24 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.view.document.AbstractXlsxView;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 /**
  * @author daniel.hu
  */
-@Slf4j
 @SuppressWarnings("squid:MaximumInheritanceDepth")
 @NoArgsConstructor
-@AllArgsConstructor
 public abstract class ExcelBaseView<T> extends AbstractXlsxView {
 
     private String filename;
@@ -32,8 +37,48 @@ public abstract class ExcelBaseView<T> extends AbstractXlsxView {
 
     private ExcelHandler[] excelHandlers = new ExcelHandler[0];
 
+    /**
+     * 默认列宽（字符数）
+     */
+    static final int DEFAULT_COLUMN_WIDTH = 30;
+
+    /**
+     * 当前workbook的单元格格式缓存，在buildExcelDocument中创建
+     */
+    private ExportCellStyles cellStyles;
+
+    public ExcelBaseView(String filename, String sheetName, ExcelHandler[] excelHandlers) {
+        this.filename = filename;
+        this.sheetName = sheetName;
+        this.excelHandlers = excelHandlers;
+    }
+
     @Override
     protected void buildExcelDocument(Map<String, Object> map, Workbook workbook, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        setContentDisposition(map, request, response);
+
+        Sheet sheet = workbook.createSheet(getSheetName(map));
+        sheet.setDefaultColumnWidth(DEFAULT_COLUMN_WIDTH);
+
+        AtomicInteger rowCount = new AtomicInteger(0);
+        Row title = sheet.createRow(rowCount.getAndIncrement());
+        setTitle(title);
+
+        cellStyles = new ExportCellStyles(workbook);
+        try (ExportDataSource<T> dataSource = getDataSource(map)) {
+            for (List<T> page = dataSource.nextPage(); !page.isEmpty(); page = dataSource.nextPage()) {
+                for (T datum : page) {
+                    Row row = sheet.createRow(rowCount.getAndIncrement());
+                    setRow(row, datum);
+                }
+            }
+        }
+    }
+
+    /**
+     * 设置下载文件名
+     */
+    protected void setContentDisposition(Map<String, Object> map, HttpServletRequest request, HttpServletResponse response) {
         String filename0 = getFilename(map) + ".xlsx";
         // name.getBytes("UTF-8")处理safari的乱码问题
         String userAgent = request.getHeader(HttpHeaders.USER_AGENT);
@@ -41,20 +86,30 @@ public abstract class ExcelBaseView<T> extends AbstractXlsxView {
         filename0 = new String(bytes, StandardCharsets.ISO_8859_1);
         // 文件名外的双引号处理firefox的空格截断问题
         response.setHeader(HttpHeaders.CONTENT_DISPOSITION, String.format("attachment; filename=\"%s\"", filename0));
+    }
 
-        Sheet sheet = workbook.createSheet(getSheetName(map));
-        sheet.setDefaultColumnWidth(30);
-
-        AtomicInteger rowCount = new AtomicInteger(0);
-        Row title = sheet.createRow(rowCount.getAndIncrement());
-        setTitle(title);
-
-        @SuppressWarnings("unchecked")
-        List<T> data = (List<T>) map.get("data");
-        for (T datum : data) {
-            Row row = sheet.createRow(rowCount.getAndIncrement());
-            setRow(row, datum);
+    /**
+     * 获取导出数据源，支持 {@link ExportDataSource} / Stream / Iterator / Iterable(List)
+     *
+     * @throws IllegalArgumentException 数据缺失（如model的key写错）或类型不支持（如数组、分页对象），不导出只有标题的文件
+     */
+    @SuppressWarnings("unchecked")
+    protected ExportDataSource<T> getDataSource(Map<String, Object> map) {
+        Object data = map.get(ExcelUtil.EXCEL_EXPORT_DATA_KEY);
+        if (data instanceof ExportDataSource) {
+            return (ExportDataSource<T>) data;
         }
+        if (data instanceof Stream) {
+            return ExportDataSource.of((Stream<T>) data);
+        }
+        if (data instanceof Iterator) {
+            return ExportDataSource.of((Iterator<T>) data);
+        }
+        if (data instanceof Iterable) {
+            return ExportDataSource.of(((Iterable<T>) data).iterator());
+        }
+        throw new IllegalArgumentException(String.format("Cannot export model attribute '%s' of type %s, expected ExportDataSource / Stream / Iterator / Iterable",
+                ExcelUtil.EXCEL_EXPORT_DATA_KEY, data == null ? "null" : data.getClass().getName()));
     }
 
     /**
@@ -68,24 +123,93 @@ public abstract class ExcelBaseView<T> extends AbstractXlsxView {
     }
 
     /**
-     * 设置行数据
+     * 设置行数据：声明了导出格式（{@link ExcelHandler#getExportFormat()}）的列按类型写入，其余列写为文本
      */
     protected void setRow(Row row, T datum) {
+        ExcelRowMapper<T> mapper = getRowMapper();
         ExcelHandler[] metas = getExcelHandlers();
         for (int i = 0; i < metas.length; i++) {
             ExcelHandler excelHandler = metas[i];
-            Object val = readField(datum, excelHandler);
-            row.createCell(i).setCellValue(excelHandler.resolveExportValue(val));
+            Object val = mapper != null ? mapper.read(datum, i) : readField(datum, excelHandler);
+            String format = excelHandler.getExportFormat();
+            if (format == null || !setTypedCell(row, i, val, format)) {
+                row.createCell(i).setCellValue(excelHandler.resolveExportValue(val));
+            }
         }
     }
 
-    protected Object readField(T datum, ExcelHandler excelHandler) {
-        try {
-            return FieldUtils.readDeclaredField(datum, excelHandler.getFieldName(), true);
-        } catch (IllegalAccessException e) {
-            log.warn("字段导出失败: {} - {}", excelHandler.getTitleName(), e.getMessage());
+    /**
+     * 按类型写入单元格：数值、布尔、日期写为对应类型的单元格，null不创建单元格
+     *
+     * @param format 导出格式（{@link ExcelHandler#getExportFormat()}），同一格式在workbook中只创建一个CellStyle
+     * @return 其它类型的值返回false（由调用方按文本写入）
+     */
+    protected boolean setTypedCell(Row row, int column, Object val, String format) {
+        if (val == null) {
+            return true;
         }
-        return null;
+        if (val instanceof Boolean) {
+            row.createCell(column).setCellValue((Boolean) val);
+            return true;
+        }
+        if (!isNumeric(val)) {
+            return false;
+        }
+        Cell cell = row.createCell(column);
+        cell.setCellValue(numericValue(val));
+        CellStyle style = getCellStyles(row.getSheet().getWorkbook()).get(format);
+        if (style != null) {
+            cell.setCellStyle(style);
+        }
+        return true;
+    }
+
+    /**
+     * 单元格格式缓存：每个workbook一个实例，在buildExcelDocument之外写入其它workbook时重新创建
+     */
+    private ExportCellStyles getCellStyles(Workbook workbook) {
+        ExportCellStyles styles = cellStyles;
+        if (styles == null || !styles.isFor(workbook)) {
+            styles = new ExportCellStyles(workbook);
+            cellStyles = styles;
+        }
+        return styles;
+    }
+
+    /**
+     * 是否写为数值单元格：数值或日期
+     */
+    static boolean isNumeric(Object val) {
+        return val instanceof Number || val instanceof Date || val instanceof Calendar || val instanceof LocalDate || val instanceof LocalDateTime;
+    }
+
+    /**
+     * 数值单元格的值（日期为Excel日期序列值）
+     *
+     * @param val {@link #isNumeric}为true的值
+     */
+    static double numericValue(Object val) {
+        if (val instanceof Number) {
+            return ((Number) val).doubleValue();
+        } else if (val instanceof Date) {
+            return DateUtil.getExcelDate((Date) val);
+        } else if (val instanceof Calendar) {
+            return DateUtil.getExcelDate((Calendar) val, false);
+        } else if (val instanceof LocalDate) {
+            return DateUtil.getExcelDate(toDate(((LocalDate) val).atStartOfDay()));
+        }
+        return DateUtil.getExcelDate(toDate((LocalDateTime) val));
+    }
+
+    private static Date toDate(LocalDateTime value) {
+        return Date.from(value.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * 读取导出字段值（考虑父类，字段访问句柄按实体类型缓存）
+     */
+    protected Object readField(T datum, ExcelHandler excelHandler) {
+        return ExcelFieldReader.of(datum.getClass()).read(datum, excelHandler.getFieldName());
     }
 
     protected String getFilename(Map<String, Object> map) {
@@ -96,8 +220,16 @@ public abstract class ExcelBaseView<T> extends AbstractXlsxView {
         return (String) map.getOrDefault("sheetName", sheetName);
     }
 
+    /**
+     * 实体映射（通常由{@link ExcelColumn}在编译期生成），返回非null时列取自映射，字段值通过映射读取而非反射
+     */
+    protected ExcelRowMapper<T> getRowMapper() {
+        return null;
+    }
+
     protected ExcelHandler[] getExcelHandlers() {
-        return excelHandlers;
+        ExcelRowMapper<T> mapper = getRowMapper();
+        return mapper != null ? mapper.getHandlers() : excelHandlers;
     }
 
 }
@@ -0,0 +1,197 @@
+package com.github.wuyanzuplus.excel.core;
+
+import lombok.AllArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 批量导入管道：后台线程读取、转换行数据并按批次放入有界队列，调用线程从队列中取出批次交给{@link BatchConsumer}
+ * <pre>
+ *     1. 解析与持久化并行，队列满时解析线程阻塞（背压），内存中最多保留 (队列容量 + 2) 个批次
+ *     2. 消费者运行在调用线程上，可直接使用调用方的事务上下文
+ *     3. 任一方失败时另一方随之停止，异常在调用线程抛出；消费者失败时先等待解析线程结束再抛出，
+ *        方法返回后解析线程不会再写入调用方的errorMap等状态
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+final class ExcelBatchPipeline<T> {
+
+    private static final Object END = new Object();
+
+    private static final int NEW = 0;
+
+    private static final int RUNNING = 1;
+
+    private static final int FINISHED = 2;
+
+    private final BlockingQueue<Object> queue;
+
+    private final int batchSize;
+
+    private volatile boolean closed;
+
+    /**
+     * 解析任务状态：NEW -> RUNNING -> FINISHED，或尚未运行时由调用线程直接置为FINISHED（不再运行）
+     */
+    private final AtomicInteger state = new AtomicInteger(NEW);
+
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private ExcelBatchPipeline(ExcelReadOptions options) {
+        this.queue = new ArrayBlockingQueue<>(options.getBatchQueueCapacity());
+        this.batchSize = options.getBatchSize();
+    }
+
+    /**
+     * 运行批量导入管道
+     *
+     * @param options  读取配置（批次大小、队列容量、解析线程）
+     * @param producer 行数据生产者：在后台线程中逐行回调传入的RowConsumer
+     * @param consumer 批量数据消费者
+     */
+    static <T> void run(ExcelReadOptions options, Consumer<RowConsumer<T>> producer, BatchConsumer<T> consumer) {
+        new ExcelBatchPipeline<T>(options).run(options.getBatchExecutor(), producer, consumer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void run(Executor executor, Consumer<RowConsumer<T>> producer, BatchConsumer<T> consumer) {
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            if (!state.compareAndSet(NEW, RUNNING)) {
+                return null;
+            }
+            try {
+                produce(producer);
+            } finally {
+                state.set(FINISHED);
+                finished.countDown();
+            }
+            return null;
+        });
+        if (executor != null) {
+            executor.execute(task);
+        } else {
+            startThread(task);
+        }
+        try {
+            Object item;
+            while ((item = queue.take()) != END) {
+                if (item instanceof Failure) {
+                    throw ((Failure) item).rethrow();
+                }
+                consumer.accept((List<T>) item);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcelResolvingException("Excel导入被中断", e);
+        } finally {
+            closed = true;
+            if (!state.compareAndSet(NEW, FINISHED)) {
+                task.cancel(true);
+                awaitFinished();
+            }
+        }
+    }
+
+    /**
+     * 等待解析线程结束（解析线程在下一次放入队列时发现管道已关闭而停止），期间的中断在结束后恢复
+     */
+    private void awaitFinished() {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                finished.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void produce(Consumer<RowConsumer<T>> producer) throws InterruptedException {
+        try {
+            BatchCollector collector = new BatchCollector();
+            producer.accept(collector);
+            collector.flush();
+            put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            put(new Failure(e));
+        }
+    }
+
+    /**
+     * 放入队列，队列满时阻塞，消费方已结束时放弃
+     */
+    private void put(Object item) throws InterruptedException {
+        while (!closed) {
+            if (queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+        throw new InterruptedException("Excel导入已结束");
+    }
+
+    private static void startThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "excel-import");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 将行数据按批次大小收集后放入队列
+     */
+    private class BatchCollector implements RowConsumer<T> {
+
+        private List<T> batch = new ArrayList<>(batchSize);
+
+        @Override
+        @SneakyThrows
+        public void accept(T data) {
+            if (closed) {
+                throw new InterruptedException("Excel导入已结束");
+            }
+            batch.add(data);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() throws InterruptedException {
+            if (!batch.isEmpty()) {
+                put(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Failure {
+
+        private final Throwable cause;
+
+        RuntimeException rethrow() {
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                return (RuntimeException) cause;
+            }
+            return new ExcelResolvingException(cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.wuyanzuplus.excel.core;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 实体字段与Excel列的映射，由common-excel-processor在编译期生成{@link ExcelRowMapper}（类名为实体类名 + ExcelMapping）
+ * <pre>
+ *     列顺序即字段声明顺序；非private字段直接访问，private字段通过getter/setter（getXxx/isXxx/setXxx）访问；
+ *     非String字段需指定importResolver；字段、访问方法、处理器构造器不存在时编译失败
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface ExcelColumn {
+
+    /**
+     * 标题名称
+     */
+    String title();
+
+    /**
+     * 是否必填
+     */
+    boolean required() default false;
+
+    /**
+     * 最大长度
+     */
+    int maxLength() default 255;
+
+    /**
+     * 唯一约束名称（同一名称的字段组成联合唯一约束，默认不参与），见{@link ExcelHandler#getUniqueKey()}
+     */
+    String uniqueKey() default "";
+
+    /**
+     * 校验器（需有public无参构造器，默认不校验）
+     */
+    Class<? extends ValueValidator> validator() default ValueValidator.class;
+
+    /**
+     * 导入值处理器（需有public无参构造器，默认原样导入）
+     */
+    Class<? extends ValueImportResolver> importResolver() default ValueImportResolver.class;
+
+    /**
+     * 导出值处理器（需有public无参构造器，默认toString）
+     */
+    Class<? extends ValueExportResolver> exportResolver() default ValueExportResolver.class;
+
+    /**
+     * 类型化导出的单元格格式（默认按文本导出），见{@link ExcelHandler#getExportFormat()}
+     */
+    String exportFormat() default "";
+}
@@ -0,0 +1,128 @@
+package com.github.wuyanzuplus.excel.core;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 直接写出的导出视图：不创建POI workbook，由{@link XlsxStreamWriter}按顺序将xlsx各部分压缩写入响应输出流
+ * <pre>
+ *     不产生临时文件，首个字节在读取数据前即已写出，内存与行数无关，吞吐取决于压缩而非对象模型；
+ *     列、导出值处理与导出格式（{@link ExcelHandler#getExportFormat()}）的约定与{@link ExcelBaseView}一致；
+ *     有意不兼容setTitle/setRow：两者基于POI Row，而本视图不创建Row（适配Row需要为每个单元格创建对象，抵消了直接写出的收益），
+ *     因此只有未覆盖setTitle/setRow的视图可以直接替换父类，覆盖了的视图需改为覆盖writeTitle/writeRow，
+ *     否则创建时抛出IllegalStateException（而不是静默丢失定制）；
+ *     响应在写出过程中已提交，数据源出错时客户端得到不完整的文件（没有zip目录），无法再返回错误页面
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+@SuppressWarnings("squid:MaximumInheritanceDepth")
+public abstract class ExcelDirectBaseView<T> extends ExcelBaseView<T> {
+
+    public ExcelDirectBaseView() {
+        checkRowCustomization();
+    }
+
+    public ExcelDirectBaseView(String filename, String sheetName, ExcelHandler[] excelHandlers) {
+        super(filename, sheetName, excelHandlers);
+        checkRowCustomization();
+    }
+
+    /**
+     * 覆盖了setTitle/setRow的视图不能切换为直接写出
+     */
+    private void checkRowCustomization() {
+        for (Class<?> type = getClass(); type != ExcelDirectBaseView.class; type = type.getSuperclass()) {
+            // setRow(Row, T)覆盖时编译器生成setRow(Row, Object)桥接方法
+            if (declares(type, "setTitle", Row.class) || declares(type, "setRow", Row.class, Object.class)) {
+                throw new IllegalStateException(String.format("%s overrides setTitle/setRow, which are never called by %s; override writeTitle/writeRow instead",
+                        getClass().getName(), ExcelDirectBaseView.class.getSimpleName()));
+            }
+        }
+    }
+
+    private static boolean declares(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            type.getDeclaredMethod(name, parameterTypes);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 不使用POI对象模型
+     */
+    @Override
+    protected Workbook createWorkbook(Map<String, Object> model, HttpServletRequest request) {
+        return null;
+    }
+
+    @Override
+    protected void buildExcelDocument(Map<String, Object> map, Workbook workbook, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        setContentDisposition(map, request, response);
+        // AbstractXlsView在buildExcelDocument之后才设置Content-Type，此时响应已提交
+        response.setContentType(getContentType());
+        try (XlsxStreamWriter writer = new XlsxStreamWriter(response.getOutputStream(), getSheetName(map), DEFAULT_COLUMN_WIDTH)) {
+            writeTitle(writer);
+            try (ExportDataSource<T> dataSource = getDataSource(map)) {
+                for (List<T> page = dataSource.nextPage(); !page.isEmpty(); page = dataSource.nextPage()) {
+                    for (T datum : page) {
+                        writeRow(writer, datum);
+                    }
+                }
+            }
+            writer.finish();
+        }
+    }
+
+    /**
+     * 已在buildExcelDocument中写出
+     */
+    @Override
+    protected void renderWorkbook(Workbook workbook, HttpServletResponse response) {
+        // do nothing
+    }
+
+    /**
+     * 写出标题行
+     */
+    protected void writeTitle(XlsxStreamWriter writer) throws IOException {
+        ExcelHandler[] metas = getExcelHandlers();
+        writer.startRow();
+        for (int i = 0; i < metas.length; i++) {
+            writer.writeString(i, metas[i].getTitleName());
+        }
+        writer.endRow();
+    }
+
+    /**
+     * 写出行数据：声明了导出格式的列按类型写出，其余列写为文本
+     */
+    protected void writeRow(XlsxStreamWriter writer, T datum) throws IOException {
+        ExcelRowMapper<T> mapper = getRowMapper();
+        ExcelHandler[] metas = getExcelHandlers();
+        writer.startRow();
+        for (int i = 0; i < metas.length; i++) {
+            ExcelHandler excelHandler = metas[i];
+            Object val = mapper != null ? mapper.read(datum, i) : readField(datum, excelHandler);
+            String format = excelHandler.getExportFormat();
+            if (format == null) {
+                writer.writeString(i, excelHandler.resolveExportValue(val));
+            } else if (val instanceof Boolean) {
+                writer.writeBoolean(i, (Boolean) val);
+            } else if (isNumeric(val)) {
+                writer.writeNumber(i, numericValue(val), format);
+            } else if (val != null) {
+                writer.writeString(i, excelHandler.resolveExportValue(val));
+            }
+        }
+        writer.endRow();
+    }
+}
@@ -0,0 +1,220 @@
+package com.github.wuyanzuplus.excel.core;
+
+import lombok.SneakyThrows;
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 导入: 预编译的行数据绑定器
+ * <pre>
+ *     按 (目标类, 是否只考虑当前类, ExcelHandler[]) 编译一次并缓存：字段查找、setAccessible只在编译时进行，
+ *     缓存以ClassValue挂在目标类上（不持有Class的强引用，不阻止类加载器卸载），
+ *     之后每行只有构造器与setter的MethodHandle调用；类型化导入的字段由{@link TypedFieldSetter}写入
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+final class ExcelFieldBinder<T> {
+
+    /**
+     * 目标类 -> (是否只考虑当前类, ExcelHandler[]) -> 绑定器
+     */
+    private static final ClassValue<ConcurrentMap<BinderKey, ExcelFieldBinder<?>>> BINDERS = new ClassValue<ConcurrentMap<BinderKey, ExcelFieldBinder<?>>>() {
+        @Override
+        protected ConcurrentMap<BinderKey, ExcelFieldBinder<?>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodHandle FIELD_SET;
+
+    static {
+        try {
+            FIELD_SET = MethodHandles.lookup().findVirtual(Field.class, "set", SETTER_TYPE);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ExcelHandler[] handlers;
+
+    /**
+     * ()Object
+     */
+    private final MethodHandle constructor;
+
+    /**
+     * (Object target, Object value)void，与handlers一一对应
+     */
+    private final MethodHandle[] setters;
+
+    /**
+     * 类型化导入的字段写入器（未声明时为null），与handlers一一对应
+     */
+    private final TypedFieldSetter[] typedSetters;
+
+    private ExcelFieldBinder(Class<? extends T> clazz, ExcelHandler[] handlers, boolean declaredOnly) {
+        this.handlers = handlers;
+        this.constructor = constructorOf(clazz);
+        this.setters = new MethodHandle[handlers.length];
+        this.typedSetters = new TypedFieldSetter[handlers.length];
+        for (int i = 0; i < handlers.length; i++) {
+            String fieldName = handlers[i].getFieldName();
+            Field field = declaredOnly ? FieldUtils.getDeclaredField(clazz, fieldName, true) : FieldUtils.getField(clazz, fieldName, true);
+            if (field == null) {
+                throw new IllegalArgumentException(String.format("Cannot locate declared field %s.%s", clazz.getName(), fieldName));
+            }
+            setters[i] = setterOf(field, Object.class);
+            typedSetters[i] = TypedFieldSetter.of(handlers[i], field, setters[i]);
+        }
+    }
+
+    /**
+     * 获取（或编译）绑定器
+     *
+     * @param clazz        目标类
+     * @param handlers     枚举值（all）
+     * @param declaredOnly 是否只考虑当前类声明的字段
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ExcelFieldBinder<T> of(Class<? extends T> clazz, ExcelHandler[] handlers, boolean declaredOnly) {
+        ConcurrentMap<BinderKey, ExcelFieldBinder<?>> binders = BINDERS.get(clazz);
+        // 查找时直接使用调用方的数组，只在首次编译时复制
+        BinderKey key = new BinderKey(declaredOnly, handlers);
+        ExcelFieldBinder<?> binder = binders.get(key);
+        if (binder == null) {
+            ExcelHandler[] copy = handlers.clone();
+            binder = binders.computeIfAbsent(new BinderKey(declaredOnly, copy), k -> new ExcelFieldBinder<>(clazz, copy, declaredOnly));
+        }
+        return (ExcelFieldBinder<T>) binder;
+    }
+
+    /**
+     * 第i个枚举是否为类型化导入
+     */
+    boolean isTyped(int i) {
+        return typedSetters[i] != null;
+    }
+
+    /**
+     * 将excel行数据转换为目标实体
+     *
+     * @param rowData excel行数据
+     * @return 目标实体
+     * @throws IllegalArgumentException 类型化导入的值无法转换
+     */
+    T bind(String[] rowData) {
+        return bind(new TypedRow(rowData), 0, null, (rowNum, colNum, error) -> {
+            throw new IllegalArgumentException(String.format("Cannot convert field %s with value %s", handlers[colNum].getFieldName(), rowData[colNum]));
+        });
+    }
+
+    /**
+     * 将excel行数据转换为目标实体
+     *
+     * @param row          excel行数据
+     * @param rowNum       标识在excel中的行数
+     * @param columns      枚举下标 -> sheet列下标，用于错误坐标（传null时与枚举下标一致）
+     * @param errorHandler 错误回调（传null时代表不统计错误）
+     * @return 目标实体，类型化导入的值无法转换时返回null
+     */
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    T bind(TypedRow row, int rowNum, int[] columns, RowErrorHandler errorHandler) {
+        T target = (T) (Object) constructor.invokeExact();
+        for (int i = 0; i < setters.length; i++) {
+            if (typedSetters[i] != null) {
+                String error = typedSetters[i].set(target, row, i);
+                if (error != null) {
+                    if (errorHandler != null) {
+                        errorHandler.onError(rowNum, columns == null ? i : columns[i], error);
+                    }
+                    return null;
+                }
+                continue;
+            }
+            Object value = handlers[i].resolveImportValue(row.getText(i));
+            try {
+                setters[i].invokeExact((Object) target, value);
+            } catch (ClassCastException | NullPointerException e) {
+                throw new IllegalArgumentException(String.format("Cannot set field %s with value %s", handlers[i].getFieldName(), value), e);
+            }
+        }
+        return target;
+    }
+
+    @SneakyThrows
+    private static MethodHandle constructorOf(Class<?> clazz) {
+        if (Modifier.isAbstract(clazz.getModifiers())) {
+            throw new InstantiationException(clazz.getName());
+        }
+        Constructor<?> constructor = clazz.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+    }
+
+    /**
+     * 字段setter句柄
+     *
+     * @param valueType 值的类型（Object或字段的基本类型）
+     * @return (Object target, valueType value)void
+     */
+    static MethodHandle setterOf(Field field, Class<?> valueType) {
+        MethodType type = SETTER_TYPE.changeParameterType(1, valueType);
+        try {
+            MethodHandle setter = MethodHandles.lookup().unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+            return setter.asType(type);
+        } catch (IllegalAccessException e) {
+            // final字段无法生成setter句柄，退化为Field#set
+            return FIELD_SET.bindTo(field).asType(type);
+        }
+    }
+
+    private static final class BinderKey {
+
+        private final boolean declaredOnly;
+
+        private final ExcelHandler[] handlers;
+
+        private final int hash;
+
+        BinderKey(boolean declaredOnly, ExcelHandler[] handlers) {
+            this.declaredOnly = declaredOnly;
+            this.handlers = handlers;
+            this.hash = 31 * Arrays.hashCode(handlers) + (declaredOnly ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BinderKey)) {
+                return false;
+            }
+            BinderKey other = (BinderKey) o;
+            return declaredOnly == other.declaredOnly && hash == other.hash && Arrays.equals(handlers, other.handlers);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.wuyanzuplus.excel.core;
+
+import lombok.SneakyThrows;
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 导出: 按实体类型缓存的字段读取器
+ * <pre>
+ *     每个实体类型的每个字段只查找一次（含父类字段），之后每次读取只有一次getter句柄调用
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+final class ExcelFieldReader {
+
+    private static final ClassValue<ExcelFieldReader> READERS = new ClassValue<ExcelFieldReader>() {
+        @Override
+        protected ExcelFieldReader computeValue(Class<?> type) {
+            return new ExcelFieldReader(type);
+        }
+    };
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final Class<?> type;
+
+    /**
+     * 字段名 -> (Object target)Object
+     */
+    private final Map<String, MethodHandle> getters = new ConcurrentHashMap<>();
+
+    private ExcelFieldReader(Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * 获取实体类型对应的读取器
+     */
+    static ExcelFieldReader of(Class<?> type) {
+        return READERS.get(type);
+    }
+
+    /**
+     * 读取字段值（考虑父类）
+     *
+     * @param target    实体
+     * @param fieldName 字段名
+     * @return 字段值
+     */
+    @SneakyThrows
+    Object read(Object target, String fieldName) {
+        MethodHandle getter = getters.get(fieldName);
+        if (getter == null) {
+            getter = getters.computeIfAbsent(fieldName, this::getterOf);
+        }
+        return (Object) getter.invokeExact(target);
+    }
+
+    @SneakyThrows
+    private MethodHandle getterOf(String fieldName) {
+        Field field = FieldUtils.getField(type, fieldName, true);
+        if (field == null) {
+            throw new IllegalArgumentException(String.format("Cannot locate field %s on %s", fieldName, type.getName()));
+        }
+        MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+        if (Modifier.isStatic(field.getModifiers())) {
+            getter = MethodHandles.dropArguments(getter, 0, Object.class);
+        }
+        return getter.asType(GETTER_TYPE);
+    }
+}
@@ -42,6 +42,41 @@ public interface ExcelHandler {
         return null;
     }
 
+    /**
+     * 类型化导入的目标类型（默认null，即按文本导入）
+     * <pre>
+     *     声明后数值/日期/布尔单元格以原始值写入字段，不再经过文本格式化与ValueImportResolver；类型须与字段一致，
+     *     支持int/long/double/boolean及其包装类、BigDecimal、LocalDate、LocalDateTime、Date；
+     *     原始值单元格只做必填校验（长度与ValueValidator是文本规则），配置了ValueValidator时仍按文本校验后再转换
+     * </pre>
+     */
+    default Class<?> getImportType() {
+        return null;
+    }
+
+    /**
+     * 类型化导出的单元格格式（默认null，即按文本导出）
+     * <pre>
+     *     声明后数值/布尔/日期（Date、Calendar、LocalDate、LocalDateTime）值写为对应类型的单元格，不经过ValueExportResolver，
+     *     格式如"0"、"#,##0.00"、"yyyy-mm-dd"（"General"为常规，日期值需指定日期格式）；
+     *     null写为空单元格，其它类型的值仍按文本导出
+     * </pre>
+     */
+    default String getExportFormat() {
+        return null;
+    }
+
+    /**
+     * 唯一约束名称（默认null，即不参与唯一约束）
+     * <pre>
+     *     同一名称的列组成一个唯一约束（多列时为联合唯一），导入时按行顺序检查：重复的行记录DUPLICATE_VALUE错误
+     *     （坐标为约束的首列）并跳过，首次出现的行正常导入；约束的所有列都为空时不检查
+     * </pre>
+     */
+    default String getUniqueKey() {
+        return null;
+    }
+
     /**
      * 获取导出值处理器
      */
@@ -16,6 +16,12 @@ public enum ExcelImportErrorEnum {
     OVER_LENGTH("超过长度限制"),
     DATE_FORMAT_ERROR("日期格式错误"),
     CONTENT_BEYOND_RANGE("内容超出选项范围"),
+    FILE_FORMAT_ERROR("文件格式错误，仅支持xls/xlsx"),
+    TOO_MANY_ERRORS("错误数量过多，已停止解析"),
+    FILE_TOO_LARGE("文件数据量超出导入限制"),
+    FILE_EXPANSION_ERROR("文件压缩比异常，疑似压缩炸弹"),
+    TYPE_ERROR("数据类型错误"),
+    DUPLICATE_VALUE("数据重复"),
     ;
 
     private final String value;
@@ -0,0 +1,143 @@
+package com.github.wuyanzuplus.excel.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 导入行并行绑定：读取线程按块（{@link ExcelReadOptions#getParallelBlockSize()}）收集数据行，
+ * 每块在ForkJoinPool中拆分并行校验、转换，块内结果按原有行顺序交给consumer
+ * <pre>
+ *     每行的错误先记录在块内以行为下标的槽位中（各任务只写自己的槽位，无需加锁），
+ *     块完成后由读取线程按行顺序回调错误、检查唯一约束，错误坐标及顺序与逐行解析完全一致
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+final class ExcelParallelRowBinder<T> implements SheetRowCallback {
+
+    /**
+     * 单个任务至少处理的行数，避免拆分过细
+     */
+    private static final int MIN_SPLIT_ROWS = 64;
+
+    private final ExcelRowBinder<T> binder;
+
+    private final RowErrorHandler errorHandler;
+
+    private final RowConsumer<T> consumer;
+
+    private final ForkJoinPool pool;
+
+    private final String[][] rows;
+
+    private int count;
+
+    private int firstIndex;
+
+    ExcelParallelRowBinder(ExcelRowBinder<T> binder, ExcelReadOptions options, RowConsumer<T> consumer) {
+        this.binder = binder;
+        this.errorHandler = binder.getErrorHandler();
+        this.consumer = consumer;
+        this.pool = options.parallelPoolOrCommon();
+        this.rows = new String[Math.max(options.getParallelBlockSize(), 1)][];
+    }
+
+    @Override
+    public int[] projectColumns(String[] titles) {
+        return binder.projectColumns(titles);
+    }
+
+    @Override
+    public void onRow(int rowNum, String[] rowData) {
+        int index = binder.advance(rowData);
+        if (index <= 0) {
+            return;
+        }
+        if (count == 0) {
+            firstIndex = index;
+        }
+        rows[count++] = rowData;
+        if (count == rows.length) {
+            flush();
+        }
+    }
+
+    /**
+     * 处理剩余的行（读取结束后调用）
+     */
+    @SuppressWarnings("unchecked")
+    void flush() {
+        if (count == 0) {
+            return;
+        }
+        Block block = new Block(count);
+        int threshold = Math.max(MIN_SPLIT_ROWS, count / (pool.getParallelism() * 4));
+        pool.invoke(new BindTask(block, 0, count, threshold));
+        for (int i = 0; i < count; i++) {
+            if (block.errors != null && block.errors[i] != null) {
+                errorHandler.onError(firstIndex + i, block.errorColumns[i], block.errors[i]);
+            }
+            if (block.results[i] != null && binder.isUnique(rows[i], firstIndex + i)) {
+                consumer.accept((T) block.results[i]);
+            }
+            rows[i] = null;
+        }
+        count = 0;
+    }
+
+    /**
+     * 一块数据的处理结果，以块内行下标为槽位
+     */
+    private final class Block implements RowErrorHandler {
+
+        private final Object[] results;
+
+        private final String[] errors;
+
+        private final int[] errorColumns;
+
+        Block(int size) {
+            this.results = new Object[size];
+            this.errors = errorHandler == null ? null : new String[size];
+            this.errorColumns = errorHandler == null ? null : new int[size];
+        }
+
+        @Override
+        public void onError(int rowNum, int colNum, String error) {
+            int slot = rowNum - firstIndex;
+            errors[slot] = error;
+            errorColumns[slot] = colNum;
+        }
+    }
+
+    private final class BindTask extends RecursiveAction {
+
+        private final Block block;
+
+        private final int from;
+
+        private final int to;
+
+        private final int threshold;
+
+        BindTask(Block block, int from, int to, int threshold) {
+            this.block = block;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                RowErrorHandler errorHandler = block.errors == null ? null : block;
+                for (int i = from; i < to; i++) {
+                    block.results[i] = binder.bind(rows[i], firstIndex + i, errorHandler);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BindTask(block, from, middle, threshold), new BindTask(block, middle, to, threshold));
+        }
+    }
+}
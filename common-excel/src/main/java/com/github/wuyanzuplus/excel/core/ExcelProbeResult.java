@@ -0,0 +1,57 @@
+package com.github.wuyanzuplus.excel.core;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Excel预检结果：只读取sheet名称、首个sheet页的标题行与dimension，用于在导入前快速校验模板
+ *
+ * @author daniel.hu
+ */
+@Getter
+public class ExcelProbeResult {
+
+    /**
+     * 所有sheet名称（按sheet顺序）
+     */
+    private final List<String> sheetNames;
+
+    /**
+     * 首个sheet页的标题行
+     */
+    private final List<String> titles;
+
+    /**
+     * 标题是否合法（规则与导入时一致：每个枚举的标题都能在标题行中找到）
+     */
+    private final boolean titleLegal;
+
+    /**
+     * 标题行中缺少的枚举标题
+     */
+    private final List<String> missingTitles;
+
+    /**
+     * 首个sheet页的行数（含标题行，以sheet中记录的dimension为准，-1表示文件中未记录）
+     */
+    private final int rowCount;
+
+    ExcelProbeResult(List<String> sheetNames, String[] titles, int rowCount, ExcelHandler[] handlers) {
+        this.sheetNames = Collections.unmodifiableList(sheetNames);
+        this.titles = Collections.unmodifiableList(Arrays.asList(titles));
+        this.rowCount = rowCount;
+        int[] columns = ColumnProjection.byTitle(titles, handlers);
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] < 0) {
+                missing.add(handlers[i].getTitleName());
+            }
+        }
+        this.missingTitles = Collections.unmodifiableList(missing);
+        this.titleLegal = missing.isEmpty();
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.wuyanzuplus.excel.core;
+
+/**
+ * Excel读取模式
+ *
+ * @author daniel.hu
+ */
+public enum ExcelReadMode {
+    /**
+     * 构建完整的Workbook对象后读取，内存占用与文件大小成正比
+     */
+    DOM,
+    /**
+     * 基于事件模型逐行读取，内存占用与行数无关
+     */
+    STREAMING,
+    /**
+     * 读取前预检（zip中央目录），解压后大小不超过{@link ExcelReadOptions#getAutoDomThreshold()}时使用DOM，否则流式读取
+     */
+    AUTO,
+    ;
+}
@@ -0,0 +1,124 @@
+package com.github.wuyanzuplus.excel.core;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Excel读取配置
+ *
+ * @author daniel.hu
+ */
+@Getter
+@Builder
+public class ExcelReadOptions {
+
+    /**
+     * 默认配置
+     */
+    public static final ExcelReadOptions DEFAULT = ExcelReadOptions.builder().build();
+
+    /**
+     * 读取模式（默认流式读取）
+     */
+    @Builder.Default
+    private final ExcelReadMode readMode = ExcelReadMode.STREAMING;
+
+    /**
+     * 批量导入时每批的数据条数
+     */
+    @Builder.Default
+    private final int batchSize = 1000;
+
+    /**
+     * 批量导入时待消费批次的队列容量（队列满时解析线程阻塞）
+     */
+    @Builder.Default
+    private final int batchQueueCapacity = 2;
+
+    /**
+     * 批量导入时执行解析的线程池（为null时每次导入新建一个守护线程）
+     */
+    private final Executor batchExecutor;
+
+    /**
+     * 导入错误数上限：达到上限时立即停止读取并抛出ExcelResolvingException（小于等于0时不限制）
+     */
+    @Builder.Default
+    private final int maxErrors = 0;
+
+    /**
+     * 是否并行校验、转换数据行（结果仍保持原有行顺序，适用于校验器较重的场景）
+     */
+    @Builder.Default
+    private final boolean parallel = false;
+
+    /**
+     * 并行校验、转换时每块的行数
+     */
+    @Builder.Default
+    private final int parallelBlockSize = 4096;
+
+    /**
+     * 读取所有sheet页时是否并发解析各sheet（仅xlsx流式读取支持，xls及DOM方式依次解析）
+     */
+    @Builder.Default
+    private final boolean parallelSheets = false;
+
+    /**
+     * 并行校验、转换及并发解析sheet使用的ForkJoinPool（为null时使用ForkJoinPool.commonPool()）
+     */
+    private final ForkJoinPool parallelPool;
+
+    /**
+     * xlsx流式读取时是否将共享字符串表写入临时文件（内存映射读取），适用于不重复字符串极多的文件，堆内存不再随字符串表增长
+     */
+    @Builder.Default
+    private final boolean spillSharedStrings = false;
+
+    /**
+     * 共享字符串表写入临时文件时，堆内缓存的字符串个数
+     */
+    @Builder.Default
+    private final int sharedStringsCacheSize = 1024;
+
+    /**
+     * AUTO模式下使用DOM方式的解压后大小上限（字节）
+     */
+    @Builder.Default
+    private final long autoDomThreshold = 16L * 1024 * 1024;
+
+    /**
+     * 单个文件的最大压缩比（解压后大小 / 压缩后大小），超出时不读取并抛出ExcelResolvingException（小于等于0时不限制）
+     */
+    @Builder.Default
+    private final int maxExpansionRatio = 0;
+
+    /**
+     * 解压后的最大大小（字节），超出时不读取并抛出ExcelResolvingException（小于等于0时不限制）
+     */
+    @Builder.Default
+    private final long maxUncompressedSize = 0;
+
+    /**
+     * sheet的最大行数（含标题行），读取前按sheet中记录的dimension预检，读取时按实际行号校验，超出时抛出ExcelResolvingException（小于等于0时不限制）
+     */
+    @Builder.Default
+    private final int maxRows = 0;
+
+    /**
+     * 读取前是否需要预检
+     */
+    boolean isProbeRequired() {
+        return readMode == ExcelReadMode.AUTO || maxExpansionRatio > 0 || maxUncompressedSize > 0 || maxRows > 0;
+    }
+
+    /**
+     * 实际使用的ForkJoinPool
+     */
+    ForkJoinPool parallelPoolOrCommon() {
+        return parallelPool != null ? parallelPool : ForkJoinPool.commonPool();
+    }
+}
@@ -0,0 +1,251 @@
+package com.github.wuyanzuplus.excel.core;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 导入行绑定：首行作为标题，之后每行依次校验（isRowLegal）并转换为目标实体（transformData，绑定器在首个数据行时获取一次）
+ * <pre>
+ *     标题在读取到首个数据行时才校验，与只有标题行的sheet视为空文件的规则保持一致；
+ *     由读取方调用{@link #projectColumns}时按标题名称匹配列（列顺序可与枚举不同，未映射的列不读取），否则按位置匹配；
+ *     类型化导入的列由读取方按原始值读取（{@link #rawColumns}）；指定了{@link ExcelRowMapper}时由映射直接转换，不使用反射；
+ *     唯一约束（{@link ExcelHandler#getUniqueKey()}）在转换成功后按行顺序检查
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+final class ExcelRowBinder<T> {
+
+    private final ExcelHandler[] handlers;
+
+    private final Class<? extends T> clazz;
+
+    private final RowErrorHandler errorHandler;
+
+    private final boolean allowDeclared;
+
+    private final ExcelRowMapper<T> mapper;
+
+    private volatile ExcelFieldBinder<T> fieldBinder;
+
+    /**
+     * 唯一约束索引（没有唯一约束时为null）
+     */
+    private final UniqueKeyIndex uniqueKeys;
+
+    private String[] titles;
+
+    /**
+     * 枚举下标 -> sheet列下标（按位置匹配时为null）
+     */
+    private int[] columns;
+
+    private int rowNum;
+
+    /**
+     * @param errorHandler  错误回调（传null时代表不统计错误）
+     * @param allowDeclared Excel与目标对象数据转换时是否要考虑目标的父类
+     */
+    ExcelRowBinder(ExcelHandler[] handlers, Class<? extends T> clazz, RowErrorHandler errorHandler, boolean allowDeclared) {
+        this.handlers = handlers;
+        this.clazz = clazz;
+        this.errorHandler = errorHandler;
+        this.allowDeclared = allowDeclared;
+        this.mapper = null;
+        this.uniqueKeys = UniqueKeyIndex.of(handlers);
+    }
+
+    /**
+     * @param mapper       实体映射
+     * @param errorHandler 错误回调（传null时代表不统计错误）
+     */
+    ExcelRowBinder(ExcelRowMapper<T> mapper, RowErrorHandler errorHandler) {
+        this.handlers = mapper.getHandlers();
+        this.clazz = null;
+        this.errorHandler = errorHandler;
+        this.allowDeclared = false;
+        this.mapper = mapper;
+        this.uniqueKeys = UniqueKeyIndex.of(handlers);
+    }
+
+    RowErrorHandler getErrorHandler() {
+        return errorHandler;
+    }
+
+    /**
+     * 按标题名称确定每个枚举读取的列，之后的行数据按枚举顺序排列
+     *
+     * @param titles 标题行
+     * @return 枚举下标 -> sheet列下标（-1表示标题中不存在）
+     */
+    int[] projectColumns(String[] titles) {
+        columns = ColumnProjection.byTitle(titles, handlers);
+        return columns;
+    }
+
+    /**
+     * 按原始值读取的列：类型化导入且没有配置ValueValidator（需要文本校验）的列
+     *
+     * @return 枚举下标 -> 是否按原始值读取，没有这样的列时返回null
+     */
+    boolean[] rawColumns() {
+        if (mapper != null) {
+            return null;
+        }
+        ExcelFieldBinder<T> binder = fieldBinder();
+        boolean[] raw = null;
+        for (int i = 0; i < handlers.length; i++) {
+            if (binder.isTyped(i) && handlers[i].getValueValidator() == null) {
+                if (raw == null) {
+                    raw = new boolean[handlers.length];
+                }
+                raw[i] = true;
+            }
+        }
+        return raw;
+    }
+
+    /**
+     * 绑定一行数据
+     *
+     * @param rowData 行数据
+     * @return 目标实体，标题行或不合法的行返回null
+     */
+    T bind(String[] rowData) {
+        int index = advance(rowData);
+        return index > 0 ? bindUnique(new TypedRow(rowData), index) : null;
+    }
+
+    /**
+     * 绑定一个数据行（按原始值读取）
+     *
+     * @param row 行数据
+     * @return 目标实体，不合法的行返回null
+     */
+    T bind(TypedRow row) {
+        int index = advance(row.getTexts());
+        return index > 0 ? bindUnique(row, index) : null;
+    }
+
+    private T bindUnique(TypedRow row, int index) {
+        T data = bind(row, index, errorHandler);
+        return data != null && isUnique(row, index) ? data : null;
+    }
+
+    /**
+     * 唯一约束检查（按行顺序调用，只传入转换成功的行）：重复的行记录DUPLICATE_VALUE错误，不重复时登记该行
+     *
+     * @param rowData 行数据
+     * @param index   数据行的下标
+     * @return true 不重复
+     */
+    boolean isUnique(String[] rowData, int index) {
+        return isUnique(new TypedRow(rowData), index);
+    }
+
+    private boolean isUnique(TypedRow row, int index) {
+        if (uniqueKeys == null) {
+            return true;
+        }
+        int duplicated = uniqueKeys.add(row);
+        if (duplicated < 0) {
+            return true;
+        }
+        if (errorHandler != null) {
+            errorHandler.onError(index, columns == null ? duplicated : columns[duplicated], ExcelImportErrorEnum.DUPLICATE_VALUE.name());
+        }
+        return false;
+    }
+
+    /**
+     * 读取下一行：首行记录为标题，首个数据行时校验标题
+     *
+     * @param rowData 行数据
+     * @return 数据行的下标（即错误坐标使用的行数，从1开始），标题行返回0
+     */
+    int advance(String[] rowData) {
+        int index = rowNum++;
+        if (index == 0) {
+            titles = rowData;
+            return 0;
+        }
+        if (titles != null) {
+            if (columns != null ? !isProjectionComplete() : !ExcelUtil.isTitleLegal(titles, handlers)) {
+                throw new ExcelResolvingException(ExcelImportErrorEnum.FILE_TITLE_ERROR.getValue());
+            }
+            titles = null;
+        }
+        return index;
+    }
+
+    /**
+     * 校验并转换一个数据行，不修改行状态，可在多个线程中并行调用（不检查唯一约束，由调用方按行顺序调用{@link #isUnique}）
+     *
+     * @param rowData      行数据
+     * @param index        数据行的下标
+     * @param errorHandler 错误回调（传null时代表不统计错误）
+     * @return 目标实体，不合法的行返回null
+     */
+    T bind(String[] rowData, int index, RowErrorHandler errorHandler) {
+        return bind(new TypedRow(rowData), index, errorHandler);
+    }
+
+    private T bind(TypedRow row, int index, RowErrorHandler errorHandler) {
+        if (!ExcelUtil.isRowLegal(row, handlers, index, columns, errorHandler)) {
+            return null;
+        }
+        if (mapper != null) {
+            return mapper.bind(row.getTexts());
+        }
+        return fieldBinder().bind(row, index, columns, errorHandler);
+    }
+
+    private ExcelFieldBinder<T> fieldBinder() {
+        ExcelFieldBinder<T> binder = fieldBinder;
+        if (binder == null) {
+            // 绑定器按类缓存，并发获取时得到的是同一个实例
+            binder = ExcelFieldBinder.of(clazz, handlers, !allowDeclared);
+            fieldBinder = binder;
+        }
+        return binder;
+    }
+
+    private boolean isProjectionComplete() {
+        for (int column : columns) {
+            if (column < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按需绑定：每次next()时才读取并转换下一条合法数据
+     *
+     * @param rows 行数据迭代器
+     */
+    Iterator<T> bindAll(Iterator<String[]> rows) {
+        return new Iterator<T>() {
+
+            private T next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && rows.hasNext()) {
+                    next = bind(rows.next());
+                }
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T data = next;
+                next = null;
+                return data;
+            }
+        };
+    }
+}
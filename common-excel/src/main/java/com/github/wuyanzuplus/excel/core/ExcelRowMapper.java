@@ -0,0 +1,34 @@
+package com.github.wuyanzuplus.excel.core;
+
+/**
+ * 实体与Excel行之间的映射：直接调用构造器与字段（或getter/setter），不通过字段名反射
+ * <pre>
+ *     通常由common-excel-processor根据{@link ExcelColumn}在编译期生成
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+public interface ExcelRowMapper<T> {
+
+    /**
+     * 枚举值（all），顺序即列顺序
+     */
+    ExcelHandler[] getHandlers();
+
+    /**
+     * 导入: 将校验通过的行数据（按getHandlers()顺序）转换为实体
+     *
+     * @param rowData excel行数据
+     * @return 目标实体
+     */
+    T bind(String[] rowData);
+
+    /**
+     * 导出: 读取实体第index列对应的字段值（之后再经过resolveExportValue）
+     *
+     * @param entity 实体
+     * @param index  列下标（即getHandlers()的下标）
+     * @return 字段值
+     */
+    Object read(T entity, int index);
+}
@@ -0,0 +1,50 @@
+package com.github.wuyanzuplus.excel.core;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 多sheet导入时单个sheet的解析配置
+ *
+ * @author daniel.hu
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ExcelSheetMapping<T> {
+
+    /**
+     * 枚举值（all）
+     */
+    private final ExcelHandler[] handlers;
+
+    /**
+     * 目标类（即Excel行数据转换之后的目标实体类）
+     */
+    private final Class<? extends T> clazz;
+
+    /**
+     * 错误记录（传null时代表不统计错误；并发解析sheet时各sheet需使用各自的errorMap）
+     */
+    private final Map<String, List<String>> errorMap;
+
+    /**
+     * Excel与目标对象数据转换时是否要考虑目标的父类
+     */
+    private final boolean allowDeclared;
+
+    public static <T> ExcelSheetMapping<T> of(ExcelHandler[] handlers, Class<? extends T> clazz) {
+        return new ExcelSheetMapping<>(handlers, clazz, null, true);
+    }
+
+    public static <T> ExcelSheetMapping<T> of(ExcelHandler[] handlers, Class<? extends T> clazz, Map<String, List<String>> errorMap) {
+        return new ExcelSheetMapping<>(handlers, clazz, errorMap, true);
+    }
+
+    public static <T> ExcelSheetMapping<T> of(ExcelHandler[] handlers, Class<? extends T> clazz, Map<String, List<String>> errorMap, boolean allowDeclared) {
+        return new ExcelSheetMapping<>(handlers, clazz, errorMap, allowDeclared);
+    }
+}
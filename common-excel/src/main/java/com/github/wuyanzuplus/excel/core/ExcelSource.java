@@ -0,0 +1,160 @@
+package com.github.wuyanzuplus.excel.core;
+
+import lombok.SneakyThrows;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.util.TempFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 待读取的Excel文件：磁盘文件或文件流
+ * <pre>
+ *     磁盘文件以随机访问的方式打开（OPCPackage.open(File, READ) / POIFSFileSystem(File, true)），不会将整个文件复制到内存；
+ *     文件流则由POI完整读入内存。open*返回的OPCPackage/POIFSFileSystem由调用方释放，每个实例只能打开一次（预检不计在内）；
+ *     较大的上传文件先复制（压缩后的字节）到临时文件，按磁盘文件读取，读取结束后close()删除临时文件
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+final class ExcelSource implements Closeable {
+
+    /**
+     * 上传文件达到该大小时复制到临时文件读取，较小的文件直接读入内存
+     */
+    static final long SPOOL_THRESHOLD = 1 << 20;
+
+    private final File file;
+
+    /**
+     * file是否为读取上传文件时创建的临时文件
+     */
+    private final boolean temporary;
+
+    private InputStream in;
+
+    /**
+     * 预检时缓存的文件流内容（预检需要随机访问zip中央目录）
+     */
+    private byte[] bytes;
+
+    private ExcelSource(File file, InputStream in, boolean temporary) {
+        this.file = file;
+        this.in = in;
+        this.temporary = temporary;
+    }
+
+    /**
+     * 上传的文件：Servlet的Part不提供其临时文件，transferTo会移走上传文件（之后无法再次读取），
+     * 因此达到{@link #SPOOL_THRESHOLD}时通过getInputStream复制到临时文件，否则以文件流读取
+     */
+    @SneakyThrows
+    static ExcelSource of(MultipartFile file) {
+        if (file.getSize() < SPOOL_THRESHOLD) {
+            return of(file.getInputStream());
+        }
+        File temp = TempFile.createTempFile("excel-upload", ".tmp");
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            delete(temp);
+            throw e;
+        }
+        return new ExcelSource(temp, null, true);
+    }
+
+    static ExcelSource of(InputStream is) {
+        return new ExcelSource(null, FileMagic.prepareToCheckMagic(is), false);
+    }
+
+    static ExcelSource of(File file) {
+        return new ExcelSource(file, null, false);
+    }
+
+    /**
+     * 根据文件头（而非文件名后缀）判断是否为xls
+     *
+     * @return true: xls（OLE2），false: xlsx（OOXML）
+     */
+    @SneakyThrows
+    boolean isXls() {
+        FileMagic magic = file != null ? FileMagic.valueOf(file) : FileMagic.valueOf(in);
+        if (magic == FileMagic.OLE2) {
+            return true;
+        }
+        if (magic == FileMagic.OOXML) {
+            return false;
+        }
+        throw new ExcelResolvingException(ExcelImportErrorEnum.FILE_FORMAT_ERROR.getValue());
+    }
+
+    /**
+     * 读取前预检，超出配置的上限时抛出ExcelResolvingException
+     *
+     * @param xls     是否为xls
+     * @param options 读取配置
+     */
+    @SneakyThrows
+    WorkbookProbe probe(boolean xls, ExcelReadOptions options) {
+        if (file == null && bytes == null) {
+            bytes = IOUtils.toByteArray(in);
+            in = new ByteArrayInputStream(bytes);
+        }
+        long fileSize = file != null ? file.length() : bytes.length;
+        WorkbookProbe probe;
+        if (xls) {
+            try (POIFSFileSystem fs = file != null ? new POIFSFileSystem(file, true) : new POIFSFileSystem(new ByteArrayInputStream(bytes))) {
+                probe = WorkbookProbe.ofOle2(fs, fileSize, options);
+            }
+        } else {
+            try (ZipFile zip = file != null ? new ZipFile(file) : new ZipFile(new SeekableInMemoryByteChannel(bytes))) {
+                probe = WorkbookProbe.ofZip(zip, fileSize, options);
+            }
+        }
+        probe.check(options);
+        return probe;
+    }
+
+    /**
+     * 以只读方式打开xlsx，使用完毕后调用revert()释放
+     */
+    @SneakyThrows
+    OPCPackage openPackage() {
+        return file != null ? OPCPackage.open(file, PackageAccess.READ) : OPCPackage.open(in);
+    }
+
+    /**
+     * 以只读方式打开xls，使用完毕后调用close()释放
+     */
+    @SneakyThrows
+    POIFSFileSystem openFileSystem() {
+        return file != null ? new POIFSFileSystem(file, true) : new POIFSFileSystem(in);
+    }
+
+    /**
+     * 删除读取上传文件时创建的临时文件（需在open*返回的实例释放之后调用）
+     */
+    @Override
+    public void close() {
+        if (temporary) {
+            delete(file);
+        }
+    }
+
+    private static void delete(File file) {
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.wuyanzuplus.excel.core;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.util.Map;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 基于SXSSFWorkbook的流式导出视图：内存中只保留最近的 rowAccessWindowSize 行，其余行写入临时文件
+ * <pre>
+ *     与{@link ExcelBaseView}的setTitle/setRow/ExcelHandler约定完全一致，现有视图只需替换父类即可切换；
+ *     文本默认写为内联字符串，不构建共享字符串表（内存不随不重复文本增长），重复文本极多时可改用共享字符串表减小文件；
+ *     临时文件在响应写出后（无论成功与否）立即删除
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+@SuppressWarnings("squid:MaximumInheritanceDepth")
+public abstract class ExcelStreamingBaseView<T> extends ExcelBaseView<T> {
+
+    private int rowAccessWindowSize = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+
+    private boolean compressTempFiles;
+
+    private boolean useSharedStringsTable;
+
+    public ExcelStreamingBaseView() {
+    }
+
+    public ExcelStreamingBaseView(String filename, String sheetName, ExcelHandler[] excelHandlers) {
+        super(filename, sheetName, excelHandlers);
+    }
+
+    /**
+     * @param rowAccessWindowSize 内存中保留的行数（窗口外的行写入临时文件）
+     * @param compressTempFiles   是否压缩临时文件（以CPU换磁盘空间）
+     */
+    public ExcelStreamingBaseView(String filename, String sheetName, ExcelHandler[] excelHandlers, int rowAccessWindowSize, boolean compressTempFiles) {
+        super(filename, sheetName, excelHandlers);
+        this.rowAccessWindowSize = rowAccessWindowSize;
+        this.compressTempFiles = compressTempFiles;
+    }
+
+    /**
+     * @param rowAccessWindowSize   内存中保留的行数（窗口外的行写入临时文件）
+     * @param compressTempFiles     是否压缩临时文件（以CPU换磁盘空间）
+     * @param useSharedStringsTable 文本是否写入共享字符串表（false时写为内联字符串）
+     */
+    public ExcelStreamingBaseView(String filename, String sheetName, ExcelHandler[] excelHandlers, int rowAccessWindowSize, boolean compressTempFiles,
+                                  boolean useSharedStringsTable) {
+        this(filename, sheetName, excelHandlers, rowAccessWindowSize, compressTempFiles);
+        this.useSharedStringsTable = useSharedStringsTable;
+    }
+
+    @Override
+    protected Workbook createWorkbook(Map<String, Object> model, HttpServletRequest request) {
+        return new SXSSFWorkbook(null, getRowAccessWindowSize(), isCompressTempFiles(), isUseSharedStringsTable());
+    }
+
+    @Override
+    protected void buildExcelDocument(Map<String, Object> map, Workbook workbook, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        try {
+            super.buildExcelDocument(map, workbook, request, response);
+        } catch (Exception | Error e) {
+            // 构建失败时不会进入renderWorkbook，需在此清理临时文件
+            dispose(workbook);
+            throw e;
+        }
+    }
+
+    @Override
+    protected void renderWorkbook(Workbook workbook, HttpServletResponse response) throws IOException {
+        try {
+            ServletOutputStream out = response.getOutputStream();
+            workbook.write(out);
+            workbook.close();
+        } finally {
+            dispose(workbook);
+        }
+    }
+
+    private static void dispose(Workbook workbook) {
+        if (workbook instanceof SXSSFWorkbook) {
+            ((SXSSFWorkbook) workbook).dispose();
+        }
+    }
+
+    /**
+     * 内存中保留的行数
+     */
+    protected int getRowAccessWindowSize() {
+        return rowAccessWindowSize;
+    }
+
+    /**
+     * 是否压缩临时文件
+     */
+    protected boolean isCompressTempFiles() {
+        return compressTempFiles;
+    }
+
+    /**
+     * 文本是否写入共享字符串表
+     */
+    protected boolean isUseSharedStringsTable() {
+        return useSharedStringsTable;
+    }
+}
@@ -3,17 +3,23 @@ package com.github.wuyanzuplus.excel.core;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.reflect.FieldUtils;
-import org.apache.commons.lang3.time.DateFormatUtils;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.util.IOUtils;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.lang.NonNull;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @Author: daniel.hu
@@ -33,128 +39,389 @@ public class ExcelUtil {
     /**
      * 读取Excel首个sheet页
      */
-    @SneakyThrows
     public static List<String[]> readExcelWithFirstSheet(MultipartFile file) {
-        return readExcelWithFirstSheet(file.getOriginalFilename(), file.getInputStream());
+        return readExcelWithFirstSheet(file, ExcelReadOptions.DEFAULT);
+    }
+
+    /**
+     * 读取Excel首个sheet页
+     */
+    public static List<String[]> readExcelWithFirstSheet(MultipartFile file, ExcelReadOptions options) {
+        return readExcelWithFirstSheet(ExcelSource.of(file), options);
     }
 
     /**
      * 读取Excel首个sheet页
      */
     public static List<String[]> readExcelWithFirstSheet(String filename, InputStream inputStream) {
-        Workbook workBook = createWorkBook(filename, inputStream);
-        return readExcelWithFirstSheet(workBook);
+        return readExcelWithFirstSheet(filename, inputStream, ExcelReadOptions.DEFAULT);
+    }
+
+    /**
+     * 读取Excel首个sheet页
+     */
+    public static List<String[]> readExcelWithFirstSheet(String filename, InputStream inputStream, ExcelReadOptions options) {
+        return readExcelWithFirstSheet(ExcelSource.of(inputStream), options);
+    }
+
+    /**
+     * 读取磁盘上的Excel首个sheet页（随机访问，不将整个文件读入内存）
+     */
+    public static List<String[]> readExcelWithFirstSheet(File file, ExcelReadOptions options) {
+        return readExcelWithFirstSheet(ExcelSource.of(file), options);
+    }
+
+    /**
+     * 读取磁盘上的Excel首个sheet页（随机访问，不将整个文件读入内存）
+     */
+    public static List<String[]> readExcelWithFirstSheet(Path path, ExcelReadOptions options) {
+        return readExcelWithFirstSheet(path.toFile(), options);
+    }
+
+    private static List<String[]> readExcelWithFirstSheet(ExcelSource source, ExcelReadOptions options) {
+        SheetRowCollector collector = new SheetRowCollector();
+        readFirstSheet(source, options, collector);
+        return collector.getRows();
     }
 
     /**
      * 读取Excel所有sheet页
      */
-    @SneakyThrows
     public static Map<String, List<String[]>> readExcelWithAllSheet(MultipartFile file) {
-        Workbook workBook = createWorkBook(file.getOriginalFilename(), file.getInputStream());
-        return readExcelWithAllSheet(workBook);
+        return readExcelWithAllSheet(file, ExcelReadOptions.DEFAULT);
     }
 
     /**
-     * 创建workbook进行excel读取操作
+     * 读取Excel所有sheet页
+     * <pre>
+     *     结果按sheet顺序排列（LinkedHashMap），{@link ExcelReadOptions#isParallelSheets()}为true时并发解析各sheet
+     * </pre>
      */
-    @SneakyThrows
-    private static Workbook createWorkBook(String filename, InputStream is) {
-        return "xls".equalsIgnoreCase(getSuffix(filename)) ? new HSSFWorkbook(is) : new XSSFWorkbook(is);
+    public static Map<String, List<String[]>> readExcelWithAllSheet(MultipartFile file, ExcelReadOptions options) {
+        return readExcelWithAllSheet(ExcelSource.of(file), options);
+    }
+
+    /**
+     * 读取磁盘上的Excel所有sheet页（随机访问，不将整个文件读入内存）
+     */
+    public static Map<String, List<String[]>> readExcelWithAllSheet(File file, ExcelReadOptions options) {
+        return readExcelWithAllSheet(ExcelSource.of(file), options);
     }
 
     /**
-     * 获取文件名后缀
+     * 读取磁盘上的Excel所有sheet页（随机访问，不将整个文件读入内存）
      */
-    private static String getSuffix(String filename) {
-        String[] parts = StringUtils.split(filename, ".");
-        return parts.length > 0 ? parts[parts.length - 1] : "";
+    public static Map<String, List<String[]>> readExcelWithAllSheet(Path path, ExcelReadOptions options) {
+        return readExcelWithAllSheet(path.toFile(), options);
+    }
+
+    private static Map<String, List<String[]>> readExcelWithAllSheet(ExcelSource source, ExcelReadOptions options) {
+        Map<String, SheetRowCollector> collectors = new LinkedHashMap<>();
+        readAllSheet(source, options, sheetName -> collectors.computeIfAbsent(sheetName, k -> new SheetRowCollector()));
+        Map<String, List<String[]>> sheetMap = new LinkedHashMap<>();
+        collectors.forEach((sheetName, collector) -> {
+            if (!collector.getRows().isEmpty()) {
+                sheetMap.put(sheetName, collector.getRows());
+            }
+        });
+        return sheetMap;
     }
 
     /**
-     * 读取excel第一个sheet内容
+     * 按列（字典编码）读取Excel首个sheet页，重复值只保存一份
      */
-    private static List<String[]> readExcelWithFirstSheet(Workbook workBook) {
+    public static ColumnarSheet readColumnarFirstSheet(MultipartFile file) {
+        return readColumnarFirstSheet(file, ExcelReadOptions.DEFAULT);
+    }
+
+    /**
+     * 按列（字典编码）读取Excel首个sheet页，重复值只保存一份
+     */
+    public static ColumnarSheet readColumnarFirstSheet(MultipartFile file, ExcelReadOptions options) {
+        return readColumnarFirstSheet(ExcelSource.of(file), options);
+    }
+
+    /**
+     * 按列（字典编码）读取Excel首个sheet页，重复值只保存一份
+     */
+    public static ColumnarSheet readColumnarFirstSheet(InputStream inputStream, ExcelReadOptions options) {
+        return readColumnarFirstSheet(ExcelSource.of(inputStream), options);
+    }
+
+    /**
+     * 按列（字典编码）读取磁盘上的Excel首个sheet页（随机访问，不将整个文件读入内存）
+     */
+    public static ColumnarSheet readColumnarFirstSheet(File file, ExcelReadOptions options) {
+        return readColumnarFirstSheet(ExcelSource.of(file), options);
+    }
+
+    private static ColumnarSheet readColumnarFirstSheet(ExcelSource source, ExcelReadOptions options) {
+        ColumnarSheet.Builder builder = new ColumnarSheet.Builder();
+        readFirstSheet(source, options, builder);
+        return builder.build();
+    }
+
+    /**
+     * 按列（字典编码）读取Excel所有sheet页，重复值只保存一份
+     */
+    public static Map<String, ColumnarSheet> readColumnarAllSheet(MultipartFile file) {
+        return readColumnarAllSheet(file, ExcelReadOptions.DEFAULT);
+    }
+
+    /**
+     * 按列（字典编码）读取Excel所有sheet页，重复值只保存一份
+     * <pre>
+     *     结果按sheet顺序排列（LinkedHashMap），{@link ExcelReadOptions#isParallelSheets()}为true时并发解析各sheet
+     * </pre>
+     */
+    public static Map<String, ColumnarSheet> readColumnarAllSheet(MultipartFile file, ExcelReadOptions options) {
+        Map<String, ColumnarSheet.Builder> builders = new LinkedHashMap<>();
+        readAllSheet(ExcelSource.of(file), options, sheetName -> builders.computeIfAbsent(sheetName, k -> new ColumnarSheet.Builder()));
+        Map<String, ColumnarSheet> sheetMap = new LinkedHashMap<>();
+        builders.forEach((sheetName, builder) -> {
+            ColumnarSheet sheet = builder.build();
+            if (!sheet.isEmpty()) {
+                sheetMap.put(sheetName, sheet);
+            }
+        });
+        return sheetMap;
+    }
+
+    /**
+     * 逐行读取首个sheet页
+     */
+    private static void readFirstSheet(ExcelSource source, ExcelReadOptions options, SheetRowCallback callback) {
+        try (ExcelSource excelSource = source) {
+            boolean xls = excelSource.isXls();
+            if (resolveReadMode(excelSource, xls, options) == ExcelReadMode.STREAMING) {
+                if (xls) {
+                    XlsStreamingReader.read(excelSource.openFileSystem(), true, sheetName -> callback, options);
+                } else {
+                    XlsxStreamingReader.read(excelSource.openPackage(), true, sheetName -> callback, options);
+                }
+                return;
+            }
+            Workbook workBook = createWorkBook(excelSource, xls);
+            try {
+                resolveSingleSheet(workBook.getSheetAt(0), callback, options);
+            } finally {
+                closeWorkBook(workBook);
+            }
+        }
+    }
+
+    /**
+     * 逐行读取所有sheet页
+     */
+    private static void readAllSheet(ExcelSource source, ExcelReadOptions options, Function<String, SheetRowCallback> callbacks) {
+        try (ExcelSource excelSource = source) {
+            boolean xls = excelSource.isXls();
+            if (resolveReadMode(excelSource, xls, options) == ExcelReadMode.STREAMING) {
+                if (xls) {
+                    XlsStreamingReader.read(excelSource.openFileSystem(), false, callbacks, options);
+                } else {
+                    XlsxStreamingReader.read(excelSource.openPackage(), false, callbacks, options);
+                }
+                return;
+            }
+            Workbook workBook = createWorkBook(excelSource, xls);
+            try {
+                int sheetNum = workBook.getNumberOfSheets();
+                for (int index = 0; index < sheetNum; index++) {
+                    Sheet sheet = workBook.getSheetAt(index);
+                    if (sheet != null) {
+                        resolveSingleSheet(sheet, callbacks.apply(sheet.getSheetName()), options);
+                    }
+                }
+            } finally {
+                closeWorkBook(workBook);
+            }
+        }
+    }
+
+    /**
+     * 打开首个sheet页的行迭代器（按需读取）
+     * <pre>
+     *     xls的事件模型只能推送，无法按需拉取，因此xls始终退化为DOM方式
+     * </pre>
+     *
+     * @param projector 标题行 -> 列投影（同{@link SheetRowCallback#projectColumns}）
+     */
+    private static SheetRowIterator openFirstSheet(ExcelSource source, ExcelReadOptions options, Function<String[], int[]> projector) {
+        boolean xls = source.isXls();
+        if (resolveReadMode(source, xls, options) == ExcelReadMode.STREAMING && !xls) {
+            return XlsxStreamingReader.openFirstSheet(source.openPackage(), options, projector);
+        }
+        Workbook workBook = createWorkBook(source, xls);
         Sheet sheet0 = workBook.getSheetAt(0);
-        List<String[]> list = new LinkedList<>();
         if (sheet0 == null || sheet0.getLastRowNum() <= 0) {
-            return list;
+            closeWorkBook(workBook);
+            return EmptySheetRowIterator.INSTANCE;
+        }
+        try {
+            WorkbookProbe.checkRow(sheet0.getLastRowNum(), options.getMaxRows());
+        } catch (ExcelResolvingException e) {
+            closeWorkBook(workBook);
+            throw e;
+        }
+        Row titleRow = sheet0.getRow(0);
+        CellValueFormatter formatter = CellValueFormatter.of(workBook);
+        Iterator<Row> rows = sheet0.iterator();
+        return new SheetRowIterator() {
+
+            private int[] columns;
+
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public String[] next() {
+                Row row = rows.next();
+                if (columns != null) {
+                    return formatRow(row, columns, formatter);
+                }
+                int[] all = ColumnProjection.identity(Math.max(titleRow.getLastCellNum(), 0));
+                String[] titles = formatRow(titleRow, all, formatter);
+                columns = projector.apply(titles);
+                if (columns == null) {
+                    columns = all;
+                }
+                return row == titleRow ? titles : formatRow(row, columns, formatter);
+            }
+
+            @Override
+            public void close() {
+                closeWorkBook(workBook);
+            }
+        };
+    }
+
+    /**
+     * 实际使用的读取模式：需要预检时（AUTO模式或配置了上限）先校验，AUTO模式按解压后大小选择DOM或流式读取
+     */
+    private static ExcelReadMode resolveReadMode(ExcelSource source, boolean xls, ExcelReadOptions options) {
+        if (!options.isProbeRequired()) {
+            return options.getReadMode();
+        }
+        WorkbookProbe probe = source.probe(xls, options);
+        if (options.getReadMode() != ExcelReadMode.AUTO) {
+            return options.getReadMode();
         }
-        resolveSingleSheet(sheet0, list);
-        return list;
+        return probe.getUncompressedSize() <= options.getAutoDomThreshold() ? ExcelReadMode.DOM : ExcelReadMode.STREAMING;
     }
 
     /**
-     * 读取excel所有sheet内容
+     * 创建workbook进行excel读取操作
      */
-    private static Map<String, List<String[]>> readExcelWithAllSheet(Workbook workBook) {
-        Map<String, List<String[]>> sheetMap = new HashMap<>();
-        int sheetNum = workBook.getNumberOfSheets();
-        for (int index = 0; index < sheetNum; index++) {
-            Sheet sheet = workBook.getSheetAt(index);
-            if (sheet == null || sheet.getLastRowNum() <= 0) {
-                continue;
+    @SneakyThrows
+    private static Workbook createWorkBook(ExcelSource source, boolean xls) {
+        if (xls) {
+            POIFSFileSystem fs = source.openFileSystem();
+            try {
+                return new HSSFWorkbook(fs);
+            } catch (Exception e) {
+                IOUtils.closeQuietly(fs);
+                throw e;
             }
-            List<String[]> list = new LinkedList<>();
-            resolveSingleSheet(sheet, list);
-            sheetMap.put(sheet.getSheetName(), list);
         }
-        return sheetMap;
+        OPCPackage pkg = source.openPackage();
+        try {
+            return new XSSFWorkbook(pkg);
+        } catch (Exception e) {
+            pkg.revert();
+            throw e;
+        }
+    }
+
+    /**
+     * 释放workbook打开的文件（只读，不写回）
+     */
+    private static void closeWorkBook(Workbook workBook) {
+        if (workBook instanceof XSSFWorkbook) {
+            ((XSSFWorkbook) workBook).getPackage().revert();
+        } else {
+            IOUtils.closeQuietly(workBook);
+        }
     }
 
     /**
      * 解析单个sheet
      */
-    private static void resolveSingleSheet(Sheet sheet, List<String[]> list) {
-        short cellNum = sheet.getRow(0).getLastCellNum();
+    private static void resolveSingleSheet(Sheet sheet, SheetRowCallback callback, ExcelReadOptions options) {
+        if (sheet == null || sheet.getLastRowNum() <= 0) {
+            return;
+        }
+        WorkbookProbe.checkRow(sheet.getLastRowNum(), options.getMaxRows());
+        Row titleRow = sheet.getRow(0);
+        CellValueFormatter formatter = CellValueFormatter.of(sheet.getWorkbook());
+        int[] all = ColumnProjection.identity(Math.max(titleRow.getLastCellNum(), 0));
+        String[] titles = formatRow(titleRow, all, formatter);
+        int[] columns = callback.projectColumns(titles);
+        if (columns == null) {
+            columns = all;
+        }
+        boolean[] raw = TypedRowCallback.rawColumnsOf(callback);
         for (Row row : sheet) {
-            List<String> rowData = new LinkedList<>();
-            for (int i = 0; i < cellNum; i++) {
-                rowData.add(formatCell(row.getCell(i)));
+            if (row == titleRow) {
+                callback.onRow(row.getRowNum(), titles);
+            } else if (raw != null) {
+                ((TypedRowCallback) callback).onRow(row.getRowNum(), readRow(row, columns, raw, formatter));
+            } else {
+                callback.onRow(row.getRowNum(), formatRow(row, columns, formatter));
             }
-            list.add(rowData.toArray(new String[0]));
         }
     }
 
     /**
-     * 处理单元格格式
-     *
-     * @param cell 单元格
-     * @return string
+     * 格式化一行中投影的单元格（-1对应的列输出""）
      */
-    private static String formatCell(Cell cell) {
-        if (cell == null) {
-            return "";
+    private static String[] formatRow(Row row, int[] columns, CellValueFormatter formatter) {
+        String[] rowData = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            rowData[i] = columns[i] < 0 ? "" : formatter.formatCell(row.getCell(columns[i]));
         }
-        switch (cell.getCellType()) {
-            // 数值类型(whole numbers, fractional numbers, dates)
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return DateFormatUtils.format(DateUtil.getJavaDate(cell.getNumericCellValue()), "yyyy-MM-dd");
-                } else {
-                    cell.setCellType(CellType.STRING);
-                    String temp = cell.getStringCellValue();
-                    // 判断是否包含小数点，如果不含小数点，则以字符串读取，如果含小数点，则转换为Double类型的字符串
-                    if (temp.contains(".")) {
-                        return String.valueOf(new Double(temp)).trim();
-                    } else {
-                        return temp.trim();
-                    }
-                }
-            case STRING:
-                return cell.getStringCellValue();
-            // 表达式
-            case FORMULA:
-                return cell.getCellFormula();
-            case BLANK:
-                return "";
-            case BOOLEAN:
-                return cell.getBooleanCellValue() + "";
-            case ERROR:
-                return cell.getErrorCellValue() + "";
-            default:
+        return rowData;
+    }
+
+    /**
+     * 读取一行中投影的单元格，raw列的数值/日期/布尔单元格保留原始值
+     */
+    private static TypedRow readRow(Row row, int[] columns, boolean[] raw, CellValueFormatter formatter) {
+        TypedRow rowData = new TypedRow(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] < 0) {
+                continue;
+            }
+            Cell cell = row.getCell(columns[i]);
+            if (raw[i]) {
+                formatter.readCell(cell, rowData, i);
+            } else {
+                rowData.setText(i, formatter.formatCell(cell));
+            }
+        }
+        return rowData;
+    }
+
+    /**
+     * 收集sheet行数据：只有标题行（或无数据）的sheet视为空
+     */
+    private static class SheetRowCollector implements SheetRowCallback {
+
+        private final List<String[]> rows = new ArrayList<>();
+
+        private int lastRowNum = -1;
+
+        @Override
+        public void onRow(int rowNum, String[] rowData) {
+            rows.add(rowData);
+            lastRowNum = Math.max(lastRowNum, rowNum);
+        }
+
+        List<String[]> getRows() {
+            return lastRowNum > 0 ? rows : Collections.emptyList();
         }
-        return "";
     }
 
     /**
@@ -196,25 +463,403 @@ public class ExcelUtil {
      * @return 目标对象的集合
      */
     public static <T> List<T> parseExcel(MultipartFile file, ExcelHandler[] enumValues, @NonNull Class<? extends T> clazz, Map<String, List<String>> errorMap, boolean allowDeclared) {
-        List<String[]> list = readExcelWithFirstSheet(file);
+        return parseExcel(file, enumValues, clazz, errorMap, allowDeclared, ExcelReadOptions.DEFAULT);
+    }
+
+    /**
+     * 解析导入的excel文件
+     *
+     * @param clazz<T>      目标类（即Excel行数据转换之后的目标实体类）
+     * @param <T>           ? extends T，表示类型的上界，表示参数化类型的可能是T 或是 T的子类;
+     * @param file          导入的excel文件
+     * @param enumValues    Enum.enumValues() 枚举类转变为一个枚举类型的数组
+     * @param errorMap      错误记录
+     * @param allowDeclared Excel与目标对象数据转换时是否要考虑目标的父类
+     * @param options       读取配置
+     * @return 目标对象的集合
+     */
+    public static <T> List<T> parseExcel(MultipartFile file, ExcelHandler[] enumValues, @NonNull Class<? extends T> clazz, Map<String, List<String>> errorMap, boolean allowDeclared, ExcelReadOptions options) {
         List<T> objects = new ArrayList<>();
-        if (!list.isEmpty()) {
-            if (!isTitleLegal(list.get(0), enumValues)) {
-                throw new ExcelResolvingException(ExcelImportErrorEnum.FILE_TITLE_ERROR.getValue());
+        parseExcel(file, enumValues, clazz, errorMap, allowDeclared, options, objects::add);
+        return objects;
+    }
+
+    /**
+     * 逐行解析导入的excel文件：每行校验、转换后立即交给consumer，读取下一行前不保留之前的数据
+     *
+     * @param file       导入的excel文件
+     * @param enumValues Enum.enumValues() 枚举类转变为一个枚举类型的数组
+     * @param clazz<T>   目标类（即Excel行数据转换之后的目标实体类）
+     * @param consumer   行数据消费者
+     */
+    public static <T> void parseExcel(MultipartFile file, ExcelHandler[] enumValues, @NonNull Class<? extends T> clazz, @NonNull RowConsumer<T> consumer) {
+        parseRows(ExcelSource.of(file), new ExcelRowBinder<>(enumValues, clazz, ErrorBudgetHandler.of(null, ExcelReadOptions.DEFAULT.getMaxErrors()), true), ExcelReadOptions.DEFAULT, consumer);
+    }
+
+    /**
+     * 逐行解析导入的excel文件：每行校验、转换后立即交给consumer，读取下一行前不保留之前的数据
+     *
+     * @param file       导入的excel文件
+     * @param enumValues Enum.enumValues() 枚举类转变为一个枚举类型的数组
+     * @param clazz<T>   目标类（即Excel行数据转换之后的目标实体类）
+     * @param errorMap   错误记录（传null时代表不统计错误）
+     * @param consumer   行数据消费者
+     */
+    public static <T> void parseExcel(MultipartFile file, ExcelHandler[] enumValues, @NonNull Class<? extends T> clazz, Map<String, List<String>> errorMap, @NonNull RowConsumer<T> consumer) {
+        parseExcel(file, enumValues, clazz, errorMap, true, ExcelReadOptions.DEFAULT, consumer);
+    }
+
+    /**
+     * 逐行解析导入的excel文件：每行校验、转换后立即交给consumer，读取下一行前不保留之前的数据
+     * <pre>
+     *     {@link ExcelReadOptions#isParallel()}为true时按块并行校验、转换，consumer仍在调用线程中按原有行顺序执行
+     * </pre>
+     *
+     * @param file          导入的excel文件
+     * @param enumValues    Enum.enumValues() 枚举类转变为一个枚举类型的数组
+     * @param clazz<T>      目标类（即Excel行数据转换之后的目标实体类）
+     * @param errorMap      错误记录（传null时代表不统计错误）
+     * @param allowDeclared Excel与目标对象数据转换时是否要考虑目标的父类
+     * @param options       读取配置
+     * @param consumer      行数据消费者
+     */
+    public static <T> void parseExcel(MultipartFile file, ExcelHandler[] enumValues, @NonNull Class<? extends T> clazz, Map<String, List<String>> errorMap, boolean allowDeclared, ExcelReadOptions options, @NonNull RowConsumer<T> consumer) {
+        parseRows(ExcelSource.of(file), new ExcelRowBinder<>(enumValues, clazz, ErrorBudgetHandler.of(errorHandler(errorMap), options.getMaxErrors()), allowDeclared), options, consumer);
+    }
+
+    /**
+     * 解析导入的excel文件，错误记录在collector中（坐标在读取时才生成）
+     *
+     * @param file       导入的excel文件
+     * @param enumValues Enum.enumValues() 枚举类转变为一个枚举类型的数组
+     * @param clazz<T>   目标类（即Excel行数据转换之后的目标实体类）
+     * @param errors     错误记录
+     * @return 目标对象的集合
+     */
+    public static <T> List<T> parseExcel(MultipartFile file, ExcelHandler[] enumValues, @NonNull Class<? extends T> clazz, @NonNull ImportErrorCollector errors) {
+        List<T> objects = new ArrayList<>();
+        parseExcel(file, enumValues, clazz, errors, true, ExcelReadOptions.DEFAULT, objects::add);
+        return objects;
+    }
+
+    /**
+     * 逐行解析导入的excel文件，错误记录在collector中（坐标在读取时才生成）
+     * <pre>
+     *     错误数达到{@link ExcelReadOptions#getMaxErrors()}时立即停止读取并抛出ExcelResolvingException，已记录的错误保留在collector中
+     * </pre>
+     *
+     * @param file          导入的excel文件
+     * @param enumValues    Enum.enumValues() 枚举类转变为一个枚举类型的数组
+     * @param clazz<T>      目标类（即Excel行数据转换之后的目标实体类）
+     * @param errors        错误记录
+     * @param allowDeclared Excel与目标对象数据转换时是否要考虑目标的父类
+     * @param options       读取配置
+     * @param consumer      行数据消费者
+     */
+    public static <T> void parseExcel(MultipartFile file, ExcelHandler[] enumValues, @NonNull Class<? extends T> clazz, @NonNull ImportErrorCollector errors, boolean allowDeclared, ExcelReadOptions options, @NonNull RowConsumer<T> consumer) {
+        parseRows(ExcelSource.of(file), new ExcelRowBinder<>(enumValues, clazz, ErrorBudgetHandler.of(errors::add, options.getMaxErrors()), allowDeclared), options, consumer);
+    }
+
+    /**
+     * 解析磁盘上的Excel文件（随机访问，不将整个文件读入内存）
+     *
+     * @param file          excel文件
+     * @param enumValues    Enum.enumValues() 枚举类转变为一个枚举类型的数组
+     * @param clazz<T>      目标类（即Excel行数据转换之后的目标实体类）
+     * @param errorMap      错误记录（传null时代表不统计错误）
+     * @param allowDeclared Excel与目标对象数据转换时是否要考虑目标的父类
+     * @param options       读取配置
+     * @return 目标对象的集合
+     */
+    public static <T> List<T> parseExcel(File file, ExcelHandler[] enumValues, @NonNull Class<? extends T> clazz, Map<String, List<String>> errorMap, boolean allowDeclared, ExcelReadOptions options) {
+        List<T> objects = new ArrayList<>();
+        parseExcel(file, enumValues, clazz, errorMap, allowDeclared, options, objects::add);
+        return objects;
+    }
+
+    /**
+     * 解析磁盘上的Excel文件（随机访问，不将整个文件读入内存）
+     *
+     * @param path          excel文件
+     * @param enumValues    Enum.enumValues() 枚举类转变为一个枚举类型的数组
+     * @param clazz<T>      目标类（即Excel行数据转换之后的目标实体类）
+     * @param errorMap      错误记录（传null时代表不统计错误）
+     * @param allowDeclared Excel与目标对象数据转换时是否要考虑目标的父类
+     * @param options       读取配置
+     * @return 目标对象的集合
+     */
+    public static <T> List<T> parseExcel(Path path, ExcelHandler[] enumValues, @NonNull Class<? extends T> clazz, Map<String, List<String>> errorMap, boolean allowDeclared, ExcelReadOptions options) {
+        return parseExcel(path.toFile(), enumValues, clazz, errorMap, allowDeclared, options);
+    }
+
+    /**
+     * 逐行解析磁盘上的Excel文件（随机访问，不将整个文件读入内存）：每行校验、转换后立即交给consumer
+     *
+     * @param file          excel文件
+     * @param enumValues    Enum.enumValues() 枚举类转变为一个枚举类型的数组
+     * @param clazz<T>      目标类（即Excel行数据转换之后的目标实体类）
+     * @param errorMap      错误记录（传null时代表不统计错误）
+     * @param allowDeclared Excel与目标对象数据转换时是否要考虑目标的父类
+     * @param options       读取配置
+     * @param consumer      行数据消费者
+     */
+    public static <T> void parseExcel(File file, ExcelHandler[] enumValues, @NonNull Class<? extends T> clazz, Map<String, List<String>> errorMap, boolean allowDeclared, ExcelReadOptions options, @NonNull RowConsumer<T> consumer) {
+        parseRows(ExcelSource.of(file), new ExcelRowBinder<>(enumValues, clazz, ErrorBudgetHandler.of(errorHandler(errorMap), options.getMaxErrors()), allowDeclared), options, consumer);
+    }
+
+    /**
+     * 逐行解析磁盘上的Excel文件（随机访问，不将整个文件读入内存）：每行校验、转换后立即交给consumer
+     *
+     * @param path          excel文件
+     * @param enumValues    Enum.enumValues() 枚举类转变为一个枚举类型的数组
+     * @param clazz<T>      目标类（即Excel行数据转换之后的目标实体类）
+     * @param errorMap      错误记录（传null时代表不统计错误）
+     * @param allowDeclared Excel与目标对象数据转换时是否要考虑目标的父类
+     * @param options       读取配置
+     * @param consumer      行数据消费者
+     */
+    public static <T> void parseExcel(Path path, ExcelHandler[] enumValues, @NonNull Class<? extends T> clazz, Map<String, List<String>> errorMap, boolean allowDeclared, ExcelReadOptions options, @NonNull RowConsumer<T> consumer) {
+        parseExcel(path.toFile(), enumValues, clazz, errorMap, allowDeclared, options, consumer);
+    }
+
+    /**
+     * 使用实体映射（通常由{@link ExcelColumn}在编译期生成）解析导入的excel文件，字段绑定不使用反射
+     *
+     * @param file     导入的excel文件
+     * @param mapper   实体映射
+     * @param errorMap 错误记录（传null时代表不统计错误）
+     * @param options  读取配置
+     * @return 目标对象的集合
+     */
+    public static <T> List<T> parseExcel(MultipartFile file, @NonNull ExcelRowMapper<T> mapper, Map<String, List<String>> errorMap, ExcelReadOptions options) {
+        List<T> objects = new ArrayList<>();
+        parseExcel(file, mapper, errorMap, options, objects::add);
+        return objects;
+    }
+
+    /**
+     * 使用实体映射逐行解析导入的excel文件：每行校验、转换后立即交给consumer
+     *
+     * @param file     导入的excel文件
+     * @param mapper   实体映射
+     * @param errorMap 错误记录（传null时代表不统计错误）
+     * @param options  读取配置
+     * @param consumer 行数据消费者
+     */
+    public static <T> void parseExcel(MultipartFile file, @NonNull ExcelRowMapper<T> mapper, Map<String, List<String>> errorMap, ExcelReadOptions options, @NonNull RowConsumer<T> consumer) {
+        parseRows(ExcelSource.of(file), new ExcelRowBinder<>(mapper, ErrorBudgetHandler.of(errorHandler(errorMap), options.getMaxErrors())), options, consumer);
+    }
+
+    private static <T> void parseRows(ExcelSource source, ExcelRowBinder<T> binder, ExcelReadOptions options, RowConsumer<T> consumer) {
+        if (options.isParallel()) {
+            ExcelParallelRowBinder<T> parallelBinder = new ExcelParallelRowBinder<>(binder, options, consumer);
+            readFirstSheet(source, options, parallelBinder);
+            parallelBinder.flush();
+            return;
+        }
+        readFirstSheet(source, options, new BindingCallback<>(binder, consumer));
+    }
+
+    /**
+     * 批量解析导入的excel文件：后台线程读取、转换数据，按批次（{@link ExcelReadOptions#getBatchSize()}）交给consumer，
+     * consumer在调用线程中执行，解析与消费并行
+     *
+     * @param file       导入的excel文件
+     * @param enumValues Enum.enumValues() 枚举类转变为一个枚举类型的数组
+     * @param clazz<T>   目标类（即Excel行数据转换之后的目标实体类）
+     * @param errorMap   错误记录（传null时代表不统计错误，方法返回后才完整）
+     * @param consumer   批量数据消费者
+     */
+    public static <T> void parseExcelInBatches(MultipartFile file, ExcelHandler[] enumValues, @NonNull Class<? extends T> clazz, Map<String, List<String>> errorMap, @NonNull BatchConsumer<T> consumer) {
+        parseExcelInBatches(file, enumValues, clazz, errorMap, true, ExcelReadOptions.DEFAULT, consumer);
+    }
+
+    /**
+     * 批量解析导入的excel文件：后台线程读取、转换数据，按批次（{@link ExcelReadOptions#getBatchSize()}）交给consumer，
+     * consumer在调用线程中执行，解析与消费并行
+     *
+     * @param file          导入的excel文件
+     * @param enumValues    Enum.enumValues() 枚举类转变为一个枚举类型的数组
+     * @param clazz<T>      目标类（即Excel行数据转换之后的目标实体类）
+     * @param errorMap      错误记录（传null时代表不统计错误，方法返回后才完整）
+     * @param allowDeclared Excel与目标对象数据转换时是否要考虑目标的父类
+     * @param options       读取配置
+     * @param consumer      批量数据消费者
+     */
+    public static <T> void parseExcelInBatches(MultipartFile file, ExcelHandler[] enumValues, @NonNull Class<? extends T> clazz, Map<String, List<String>> errorMap, boolean allowDeclared, ExcelReadOptions options, @NonNull BatchConsumer<T> consumer) {
+        ExcelBatchPipeline.<T>run(options, rowConsumer -> parseExcel(file, enumValues, clazz, errorMap, allowDeclared, options, rowConsumer), consumer);
+    }
+
+    /**
+     * 以惰性Stream的方式解析导入的excel文件：只有在消费下一个元素时才读取、校验、转换下一行
+     * <pre>
+     *     返回的Stream持有文件资源，需在try-with-resources中使用
+     * </pre>
+     *
+     * @param file       导入的excel文件
+     * @param enumValues Enum.enumValues() 枚举类转变为一个枚举类型的数组
+     * @param clazz<T>   目标类（即Excel行数据转换之后的目标实体类）
+     * @param errorMap   错误记录（传null时代表不统计错误）
+     * @return 目标对象的Stream
+     */
+    public static <T> Stream<T> streamExcel(MultipartFile file, ExcelHandler[] enumValues, @NonNull Class<? extends T> clazz, Map<String, List<String>> errorMap) {
+        return streamExcel(file, enumValues, clazz, errorMap, true, ExcelReadOptions.DEFAULT);
+    }
+
+    /**
+     * 以惰性Stream的方式解析导入的excel文件：只有在消费下一个元素时才读取、校验、转换下一行
+     * <pre>
+     *     返回的Stream持有文件资源，需在try-with-resources中使用；逐行按需转换，不支持并行（忽略{@link ExcelReadOptions#isParallel()}）
+     * </pre>
+     *
+     * @param file          导入的excel文件
+     * @param enumValues    Enum.enumValues() 枚举类转变为一个枚举类型的数组
+     * @param clazz<T>      目标类（即Excel行数据转换之后的目标实体类）
+     * @param errorMap      错误记录（传null时代表不统计错误）
+     * @param allowDeclared Excel与目标对象数据转换时是否要考虑目标的父类
+     * @param options       读取配置
+     * @return 目标对象的Stream
+     */
+    public static <T> Stream<T> streamExcel(MultipartFile file, ExcelHandler[] enumValues, @NonNull Class<? extends T> clazz, Map<String, List<String>> errorMap, boolean allowDeclared, ExcelReadOptions options) {
+        ExcelRowBinder<T> binder = new ExcelRowBinder<>(enumValues, clazz, ErrorBudgetHandler.of(errorHandler(errorMap), options.getMaxErrors()), allowDeclared);
+        ExcelSource source = ExcelSource.of(file);
+        SheetRowIterator rows;
+        try {
+            rows = openFirstSheet(source, options, binder::projectColumns);
+        } catch (Throwable e) {
+            // 含@SneakyThrows抛出的IOException等受检异常，打开失败时删除上传文件的临时副本
+            source.close();
+            throw e;
+        }
+        Iterator<T> iterator = binder.bindAll(rows);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        rows.close();
+                    } finally {
+                        source.close();
+                    }
+                });
+    }
+
+    /**
+     * 按sheet解析导入的excel文件：每个sheet使用各自的枚举与目标类
+     *
+     * @param file     导入的excel文件
+     * @param mappings sheet名称 -> 该sheet的解析配置（未配置的sheet不解析）
+     * @return sheet名称 -> 目标对象的集合（按sheet顺序排列）
+     */
+    public static Map<String, List<?>> parseExcelWithAllSheet(MultipartFile file, Map<String, ExcelSheetMapping<?>> mappings) {
+        return parseExcelWithAllSheet(file, mappings, ExcelReadOptions.DEFAULT);
+    }
+
+    /**
+     * 按sheet解析导入的excel文件：每个sheet使用各自的枚举与目标类
+     * <pre>
+     *     {@link ExcelReadOptions#isParallelSheets()}为true时并发解析各sheet，sheet内仍逐行校验、转换
+     * </pre>
+     *
+     * @param file     导入的excel文件
+     * @param mappings sheet名称 -> 该sheet的解析配置（未配置的sheet不解析）
+     * @param options  读取配置
+     * @return sheet名称 -> 目标对象的集合（按sheet顺序排列）
+     */
+    public static Map<String, List<?>> parseExcelWithAllSheet(MultipartFile file, Map<String, ExcelSheetMapping<?>> mappings, ExcelReadOptions options) {
+        Map<String, List<?>> sheetMap = new LinkedHashMap<>();
+        readAllSheet(ExcelSource.of(file), options, sheetName -> {
+            ExcelSheetMapping<?> mapping = mappings.get(sheetName);
+            if (mapping == null) {
+                return (rowNum, rowData) -> {
+                };
             }
-            for (int i = 1; i < list.size(); i++) {
-                String[] rowData = list.get(i);
-                if (!isRowLegal(rowData, enumValues, i, errorMap)) {
-                    continue;
-                }
-                if (allowDeclared) {
-                    objects.add(transformData(clazz, rowData, enumValues));
-                } else {
-                    objects.add(transformDeclaredData(clazz, rowData, enumValues));
-                }
+            List<Object> objects = new ArrayList<>();
+            sheetMap.put(sheetName, objects);
+            return bindSheet(mapping, options, objects);
+        });
+        return sheetMap;
+    }
+
+    private static <T> SheetRowCallback bindSheet(ExcelSheetMapping<T> mapping, ExcelReadOptions options, List<Object> objects) {
+        RowErrorHandler errorHandler = ErrorBudgetHandler.of(errorHandler(mapping.getErrorMap()), options.getMaxErrors());
+        ExcelRowBinder<T> binder = new ExcelRowBinder<>(mapping.getHandlers(), mapping.getClazz(), errorHandler, mapping.isAllowDeclared());
+        return new BindingCallback<>(binder, objects::add);
+    }
+
+    /**
+     * 逐行绑定：只读取枚举映射的列，每行转换后交给consumer
+     */
+    private static class BindingCallback<T> implements TypedRowCallback {
+
+        private final ExcelRowBinder<T> binder;
+
+        private final RowConsumer<? super T> consumer;
+
+        BindingCallback(ExcelRowBinder<T> binder, RowConsumer<? super T> consumer) {
+            this.binder = binder;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public int[] projectColumns(String[] titles) {
+            return binder.projectColumns(titles);
+        }
+
+        @Override
+        public boolean[] rawColumns() {
+            return binder.rawColumns();
+        }
+
+        @Override
+        public void onRow(int rowNum, String[] rowData) {
+            T data = binder.bind(rowData);
+            if (data != null) {
+                consumer.accept(data);
+            }
+        }
+
+        @Override
+        public void onRow(int rowNum, TypedRow row) {
+            T data = binder.bind(row);
+            if (data != null) {
+                consumer.accept(data);
             }
         }
-        return objects;
+    }
+
+    /**
+     * 预检导入的excel：只读取sheet名称、首个sheet页的标题行与dimension，不读取数据行
+     * <pre>
+     *     上传的文件与导入时的处理一致：较大的文件先复制（压缩后的字节）到临时文件再随机访问读取，避免POI以流方式打开时解压整个文件，
+     *     预检结束后删除临时文件；较小的文件直接读入内存。耗时与内存与数据行数无关
+     * </pre>
+     *
+     * @param file       文件
+     * @param enumValues 枚举值（all），标题按名称匹配，规则与导入时一致
+     */
+    public static ExcelProbeResult probe(MultipartFile file, ExcelHandler[] enumValues) {
+        return probe(ExcelSource.of(file), enumValues);
+    }
+
+    /**
+     * 预检磁盘上的excel：只读取sheet名称、首个sheet页的标题行与dimension，不读取数据行
+     */
+    public static ExcelProbeResult probe(File file, ExcelHandler[] enumValues) {
+        return probe(ExcelSource.of(file), enumValues);
+    }
+
+    /**
+     * 预检磁盘上的excel
+     */
+    public static ExcelProbeResult probe(Path path, ExcelHandler[] enumValues) {
+        return probe(path.toFile(), enumValues);
+    }
+
+    private static ExcelProbeResult probe(ExcelSource source, ExcelHandler[] enumValues) {
+        try (ExcelSource excelSource = source) {
+            return excelSource.isXls()
+                    ? XlsStreamingReader.probe(excelSource.openFileSystem(), enumValues)
+                    : XlsxStreamingReader.probe(excelSource.openPackage(), enumValues);
+        }
     }
 
     /**
@@ -236,21 +881,25 @@ public class ExcelUtil {
     /**
      * 判断excel行数据是否合法
      *
-     * @param rowData  行数据
-     * @param values   枚举值（all）
-     * @param rowNum   标识在excel中的行数
-     * @param errorMap 错误集合
+     * @param rowData      行数据
+     * @param values       枚举值（all）
+     * @param rowNum       标识在excel中的行数
+     * @param columns      枚举下标 -> sheet列下标，用于错误坐标（传null时与枚举下标一致）
+     * @param errorHandler 错误回调（传null时代表不统计错误）
      * @return true 合法
      */
-    private static boolean isRowLegal(String[] rowData, ExcelHandler[] values, int rowNum, Map<String, List<String>> errorMap) {
-        boolean needErrorStat = errorMap == null;
+    static boolean isRowLegal(TypedRow rowData, ExcelHandler[] values, int rowNum, int[] columns, RowErrorHandler errorHandler) {
         for (int i = 0; i < values.length; i++) {
+            if (rowData.getType(i) != TypedRow.TEXT) {
+                // 原始值单元格非空，长度与ValueValidator只针对文本
+                continue;
+            }
             ExcelHandler columnEnum = values[i];
-            String str = rowData[i];
+            String str = rowData.getText(i);
             String error = columnEnum.checkImportValue(str);
             if (StringUtils.isNotBlank(error)) {
-                if (!needErrorStat) {
-                    appendErrorMessage(errorMap, rowNum, i, error);
+                if (errorHandler != null) {
+                    errorHandler.onError(rowNum, columns == null ? i : columns[i], error);
                 }
                 return false;
             }
@@ -267,10 +916,19 @@ public class ExcelUtil {
      * @param error    错误
      */
     public static void appendErrorMessage(@NonNull Map<String, List<String>> errorMap, int rowNum, int colNum, String error) {
-        List<String> list = CollectionUtils.isEmpty(errorMap.get(error)) ? new ArrayList<>() : errorMap.get(error);
-        String errorCoordinates = convertToCellName(rowNum + 1, colNum + 1);
-        list.add(errorCoordinates);
-        errorMap.put(error, list);
+        List<String> list = errorMap.get(error);
+        if (CollectionUtils.isEmpty(list)) {
+            list = new ArrayList<>();
+            errorMap.put(error, list);
+        }
+        list.add(convertToCellName(rowNum + 1, colNum + 1));
+    }
+
+    /**
+     * errorMap -> 错误回调
+     */
+    private static RowErrorHandler errorHandler(Map<String, List<String>> errorMap) {
+        return errorMap == null ? null : (rowNum, colNum, error) -> appendErrorMessage(errorMap, rowNum, colNum, error);
     }
 
     /**
@@ -281,15 +939,8 @@ public class ExcelUtil {
      * @param values  枚举值（all）
      * @return 目标实体
      */
-    @SneakyThrows
     public static <T> T transformDeclaredData(Class<? extends T> clazz, String[] rowData, ExcelHandler[] values) {
-        T target = clazz.newInstance();
-        for (int i = 0; i < values.length; i++) {
-            String datum = rowData[i];
-            ExcelHandler value = values[i];
-            FieldUtils.writeDeclaredField(target, value.getFieldName(), value.resolveImportValue(datum), true);
-        }
-        return target;
+        return ExcelFieldBinder.<T>of(clazz, values, true).bind(rowData);
     }
 
     /**
@@ -300,15 +951,8 @@ public class ExcelUtil {
      * @param values  枚举值（all）
      * @return 目标实体
      */
-    @SneakyThrows
     public static <T> T transformData(Class<? extends T> clazz, String[] rowData, ExcelHandler[] values) {
-        T target = clazz.newInstance();
-        for (int i = 0; i < values.length; i++) {
-            String datum = rowData[i];
-            ExcelHandler value = values[i];
-            FieldUtils.writeField(target, value.getFieldName(), value.resolveImportValue(datum), true);
-        }
-        return target;
+        return ExcelFieldBinder.<T>of(clazz, values, false).bind(rowData);
     }
 
     /**
@@ -0,0 +1,56 @@
+package com.github.wuyanzuplus.excel.core;
+
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 导出: 单元格格式缓存，每个workbook一个实例，同一格式只创建一个CellStyle（workbook中的CellStyle数量有上限）
+ * <pre>
+ *     非线程安全，与workbook在同一线程中使用
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+final class ExportCellStyles {
+
+    private final Workbook workbook;
+
+    private final Map<String, CellStyle> styles = new HashMap<>();
+
+    private DataFormat dataFormat;
+
+    ExportCellStyles(Workbook workbook) {
+        this.workbook = workbook;
+    }
+
+    boolean isFor(Workbook workbook) {
+        return this.workbook == workbook;
+    }
+
+    /**
+     * 获取格式对应的CellStyle
+     *
+     * @param format 格式，如"0.00"、"yyyy-mm-dd"
+     * @return 常规格式（null或"General"）返回null，即使用默认样式
+     */
+    CellStyle get(String format) {
+        if (format == null || BuiltinFormats.getBuiltinFormat(0).equals(format)) {
+            return null;
+        }
+        CellStyle style = styles.get(format);
+        if (style == null) {
+            if (dataFormat == null) {
+                dataFormat = workbook.createDataFormat();
+            }
+            style = workbook.createCellStyle();
+            style.setDataFormat(dataFormat.getFormat(format));
+            styles.put(format, style);
+        }
+        return style;
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.wuyanzuplus.excel.core;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 导出数据源：导出视图按页拉取数据，每页写入后即释放，不需要一次性加载全部数据
+ * <pre>
+ *     以 ExcelUtil.EXCEL_EXPORT_DATA_KEY 放入model即可，视图在导出结束（或失败）后负责关闭数据源；
+ *     nextPage() 在上一页写入完成后才会被调用，实现方可在此时释放上一页（如 EntityManager.clear()）
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+public interface ExportDataSource<T> extends Closeable {
+
+    /**
+     * 默认每页条数
+     */
+    int DEFAULT_PAGE_SIZE = 1000;
+
+    /**
+     * 拉取下一页数据
+     *
+     * @return 下一页数据，空集合表示没有更多数据
+     */
+    List<T> nextPage();
+
+    /**
+     * 释放数据源资源（如数据库游标）
+     */
+    @Override
+    default void close() {
+    }
+
+    /**
+     * 基于Iterator的数据源
+     */
+    static <T> ExportDataSource<T> of(Iterator<? extends T> iterator) {
+        return new IteratorExportDataSource<>(iterator, DEFAULT_PAGE_SIZE, null);
+    }
+
+    /**
+     * 基于Stream的数据源（如 Spring Data JPA 的 Stream&lt;T&gt; 查询），关闭数据源时关闭Stream
+     */
+    static <T> ExportDataSource<T> of(Stream<? extends T> stream) {
+        return new IteratorExportDataSource<>(stream.iterator(), DEFAULT_PAGE_SIZE, stream::close);
+    }
+
+    /**
+     * 基于游标（keyset）分页的数据源
+     * <pre>
+     *     pageLoader.apply(上一页最后一条的key, pageSize)，首页key为null；返回条数小于pageSize时视为最后一页
+     * </pre>
+     *
+     * @param pageLoader   分页查询，如 where id &gt; :lastId order by id limit :pageSize
+     * @param keyExtractor 取数据的key
+     * @param pageSize     每页条数
+     */
+    static <T, K> ExportDataSource<T> keyset(BiFunction<K, Integer, List<T>> pageLoader, Function<? super T, K> keyExtractor, int pageSize) {
+        return new KeysetExportDataSource<>(pageLoader, keyExtractor, pageSize);
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.wuyanzuplus.excel.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 导入错误收集器：每个错误以 (行, 列, 错误) 压缩为一个long保存，错误坐标（如 "A1"）只在读取时生成
+ * <pre>
+ *     long: 高32位为行，随后14位为列（xlsx最多16384列），低18位为错误在错误表中的下标
+ *     与errorMap（{@link ExcelUtil#appendErrorMessage}）相比，不为每个错误单元格创建坐标字符串
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+public class ImportErrorCollector {
+
+    private static final int COLUMN_BITS = 14;
+
+    private static final int ERROR_BITS = 18;
+
+    private static final int COLUMN_MASK = (1 << COLUMN_BITS) - 1;
+
+    private static final int ERROR_MASK = (1 << ERROR_BITS) - 1;
+
+    private final Map<String, Integer> errorIndexes = new HashMap<>();
+
+    private final List<String> errors = new ArrayList<>();
+
+    private long[] entries = new long[64];
+
+    private int size;
+
+    /**
+     * 记录错误
+     *
+     * @param rowNum 错误行（标识在excel中的行数）
+     * @param colNum 错误列
+     * @param error  错误
+     */
+    public synchronized void add(int rowNum, int colNum, String error) {
+        if (colNum < 0 || colNum > COLUMN_MASK) {
+            throw new IllegalArgumentException("Column out of range: " + colNum);
+        }
+        Integer errorIndex = errorIndexes.get(error);
+        if (errorIndex == null) {
+            if (errors.size() > ERROR_MASK) {
+                throw new IllegalStateException("Too many distinct errors: " + errors.size());
+            }
+            errorIndex = errors.size();
+            errors.add(error);
+            errorIndexes.put(error, errorIndex);
+        }
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        entries[size++] = (long) rowNum << (COLUMN_BITS + ERROR_BITS) | (long) colNum << ERROR_BITS | errorIndex;
+    }
+
+    /**
+     * 错误数
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 第index个错误的行（标识在excel中的行数）
+     */
+    public synchronized int getRowNum(int index) {
+        return (int) (entry(index) >>> (COLUMN_BITS + ERROR_BITS));
+    }
+
+    /**
+     * 第index个错误的列
+     */
+    public synchronized int getColNum(int index) {
+        return (int) (entry(index) >>> ERROR_BITS) & COLUMN_MASK;
+    }
+
+    /**
+     * 第index个错误
+     */
+    public synchronized String getError(int index) {
+        return errors.get((int) entry(index) & ERROR_MASK);
+    }
+
+    /**
+     * 第index个错误的坐标，与errorMap中的一致（如 "A2"）
+     */
+    public synchronized String getCoordinates(int index) {
+        return ExcelUtil.convertToCellName(getRowNum(index) + 1, getColNum(index) + 1);
+    }
+
+    /**
+     * 转换为errorMap（错误 -> 错误坐标），错误按首次出现的顺序排列
+     */
+    public synchronized Map<String, List<String>> toErrorMap() {
+        Map<String, List<String>> errorMap = new LinkedHashMap<>();
+        appendTo(errorMap);
+        return errorMap;
+    }
+
+    /**
+     * 将错误按顺序追加到errorMap
+     *
+     * @param errorMap 错误集合
+     */
+    public synchronized void appendTo(Map<String, List<String>> errorMap) {
+        for (int i = 0; i < size; i++) {
+            ExcelUtil.appendErrorMessage(errorMap, getRowNum(i), getColNum(i), getError(i));
+        }
+    }
+
+    private long entry(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return entries[index];
+    }
+}
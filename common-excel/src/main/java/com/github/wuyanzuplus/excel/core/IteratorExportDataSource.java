@@ -0,0 +1,45 @@
+package com.github.wuyanzuplus.excel.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 基于Iterator的导出数据源，按pageSize切分为页
+ *
+ * @author daniel.hu
+ */
+final class IteratorExportDataSource<T> implements ExportDataSource<T> {
+
+    private final Iterator<? extends T> iterator;
+
+    private final int pageSize;
+
+    private final Runnable onClose;
+
+    IteratorExportDataSource(Iterator<? extends T> iterator, int pageSize, Runnable onClose) {
+        this.iterator = iterator;
+        this.pageSize = pageSize;
+        this.onClose = onClose;
+    }
+
+    @Override
+    public List<T> nextPage() {
+        if (!iterator.hasNext()) {
+            return Collections.emptyList();
+        }
+        List<T> page = new ArrayList<>(pageSize);
+        while (page.size() < pageSize && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    @Override
+    public void close() {
+        if (onClose != null) {
+            onClose.run();
+        }
+    }
+}
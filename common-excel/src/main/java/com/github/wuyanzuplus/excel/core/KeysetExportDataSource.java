@@ -0,0 +1,45 @@
+package com.github.wuyanzuplus.excel.core;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 基于游标（keyset）分页的导出数据源：每页以上一页最后一条数据的key为起点查询，深分页时无需offset扫描
+ *
+ * @author daniel.hu
+ */
+final class KeysetExportDataSource<T, K> implements ExportDataSource<T> {
+
+    private final BiFunction<K, Integer, List<T>> pageLoader;
+
+    private final Function<? super T, K> keyExtractor;
+
+    private final int pageSize;
+
+    private K lastKey;
+
+    private boolean finished;
+
+    KeysetExportDataSource(BiFunction<K, Integer, List<T>> pageLoader, Function<? super T, K> keyExtractor, int pageSize) {
+        this.pageLoader = pageLoader;
+        this.keyExtractor = keyExtractor;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public List<T> nextPage() {
+        if (finished) {
+            return Collections.emptyList();
+        }
+        List<T> page = pageLoader.apply(lastKey, pageSize);
+        if (page == null || page.isEmpty()) {
+            finished = true;
+            return Collections.emptyList();
+        }
+        finished = page.size() < pageSize;
+        lastKey = keyExtractor.apply(page.get(page.size() - 1));
+        return page;
+    }
+}
@@ -0,0 +1,138 @@
+package com.github.wuyanzuplus.excel.core;
+
+import lombok.SneakyThrows;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.util.StaxHelper;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按需解析的只读共享字符串表：只解析到被引用的最大下标为止
+ * <pre>
+ *     共享字符串按首次出现的顺序写入，标题行引用的通常是最前面的字符串，
+ *     因此只读取标题行时，耗时与内存与字符串表的大小无关；解析规则与ReadOnlySharedStringsTable(pkg, false)一致（不包含注音）；
+ *     非线程安全，使用完毕后需调用close()
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+final class LazySharedStringsTable implements SharedStrings, Closeable {
+
+    private final List<String> strings = new ArrayList<>();
+
+    private final StringBuilder characters = new StringBuilder(64);
+
+    private InputStream in;
+
+    private XMLStreamReader reader;
+
+    private int count;
+
+    private int uniqueCount;
+
+    LazySharedStringsTable(OPCPackage pkg) throws IOException, XMLStreamException {
+        List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+        if (parts.isEmpty()) {
+            return;
+        }
+        in = parts.get(0).getInputStream();
+        reader = StaxHelper.newXMLInputFactory().createXMLStreamReader(in);
+        // 读取到sst为止，获取count/uniqueCount
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT && "sst".equals(reader.getLocalName())) {
+                count = parseCount(reader.getAttributeValue(null, "count"));
+                uniqueCount = parseCount(reader.getAttributeValue(null, "uniqueCount"));
+                break;
+            }
+        }
+    }
+
+    private static int parseCount(String value) {
+        return value == null ? 0 : Integer.parseInt(value);
+    }
+
+    @Override
+    @SneakyThrows
+    public RichTextString getItemAt(int idx) {
+        while (strings.size() <= idx && reader != null && reader.hasNext()) {
+            pump();
+        }
+        return new XSSFRichTextString(strings.get(idx));
+    }
+
+    /**
+     * 解析下一个si
+     */
+    private void pump() throws XMLStreamException {
+        boolean tIsOpen = false;
+        boolean inRPh = false;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "si":
+                        characters.setLength(0);
+                        break;
+                    case "t":
+                        tIsOpen = true;
+                        break;
+                    case "rPh":
+                        inRPh = true;
+                        break;
+                    default:
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "si":
+                        strings.add(characters.toString());
+                        return;
+                    case "t":
+                        tIsOpen = false;
+                        break;
+                    case "rPh":
+                        inRPh = false;
+                        break;
+                    default:
+                }
+            } else if (tIsOpen && !inRPh && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE)) {
+                characters.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            }
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public int getUniqueCount() {
+        return uniqueCount;
+    }
+
+    @Override
+    public void close() {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                // ignore
+            }
+        }
+        IOUtils.closeQuietly(in);
+    }
+}
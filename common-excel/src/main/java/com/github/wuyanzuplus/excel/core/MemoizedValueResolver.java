@@ -0,0 +1,96 @@
+package com.github.wuyanzuplus.excel.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 带LRU缓存的校验器 + 导入值处理器，适用于代价较高的查找（数据库、远程字典等）
+ * <pre>
+ *     同一个值的校验与转换共用一次查找：查找结果（含"不存在"）按值缓存，最多保留maxSize个最近使用的值；
+ *     线程安全（并行校验转换时共享）
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+public final class MemoizedValueResolver<T> implements ValueValidator, ValueImportResolver<T> {
+
+    /**
+     * 查找结果为null（不存在）时的缓存值
+     */
+    private static final Object ABSENT = new Object();
+
+    private final Function<String, ? extends T> lookup;
+
+    private final String error;
+
+    private final Map<String, Object> cache;
+
+    private MemoizedValueResolver(Function<String, ? extends T> lookup, String error, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.lookup = lookup;
+        this.error = error;
+        this.cache = new LinkedHashMap<String, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * 校验与转换共用一次查找：查找结果为null时校验不通过
+     *
+     * @param lookup  文本 -> 值（不存在时返回null）
+     * @param error   校验不通过时的错误（ExcelImportErrorEnum.name()或自定义）
+     * @param maxSize 最多缓存的值个数
+     */
+    public static <T> MemoizedValueResolver<T> of(Function<String, ? extends T> lookup, String error, int maxSize) {
+        return new MemoizedValueResolver<>(lookup, error, maxSize);
+    }
+
+    /**
+     * 为已有的校验器增加LRU缓存
+     */
+    public static ValueValidator validator(ValueValidator validator, int maxSize) {
+        MemoizedValueResolver<String> memoized = new MemoizedValueResolver<>(validator::checkValue, null, maxSize);
+        return memoized::get;
+    }
+
+    /**
+     * 为已有的导入值处理器增加LRU缓存
+     */
+    public static <T> ValueImportResolver<T> resolver(ValueImportResolver<T> resolver, int maxSize) {
+        MemoizedValueResolver<T> memoized = new MemoizedValueResolver<>(resolver::importResolve, null, maxSize);
+        return memoized::get;
+    }
+
+    @Override
+    public String checkValue(String val) {
+        return get(val) == null ? error : null;
+    }
+
+    @Override
+    public T importResolve(String val) {
+        return get(val);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T get(String val) {
+        Object value;
+        synchronized (cache) {
+            value = cache.get(val);
+        }
+        if (value == null) {
+            // 查找不加锁，并发时同一个值可能被查找多次
+            T result = lookup.apply(val);
+            value = result == null ? ABSENT : result;
+            synchronized (cache) {
+                cache.put(val, value);
+            }
+        }
+        return value == ABSENT ? null : (T) value;
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.wuyanzuplus.excel.core;
+
+/**
+ * 导入行数据消费者：每行数据校验、转换完成后立即回调，不在内存中保留整个sheet
+ *
+ * @author daniel.hu
+ */
+@FunctionalInterface
+public interface RowConsumer<T> {
+
+    /**
+     * 消费一行转换后的数据
+     *
+     * @param data 目标实体
+     */
+    void accept(T data);
+}
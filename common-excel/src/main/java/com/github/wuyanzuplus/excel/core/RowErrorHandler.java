@@ -0,0 +1,19 @@
+package com.github.wuyanzuplus.excel.core;
+
+/**
+ * 导入行校验错误回调
+ *
+ * @author daniel.hu
+ */
+@FunctionalInterface
+interface RowErrorHandler {
+
+    /**
+     * 记录一个单元格错误
+     *
+     * @param rowNum 错误行（标识在excel中的行数）
+     * @param colNum 错误列
+     * @param error  错误
+     */
+    void onError(int rowNum, int colNum, String error);
+}
@@ -0,0 +1,28 @@
+package com.github.wuyanzuplus.excel.core;
+
+/**
+ * sheet行数据回调
+ *
+ * @author daniel.hu
+ */
+@FunctionalInterface
+interface SheetRowCallback {
+
+    /**
+     * 读取到一行数据
+     *
+     * @param rowNum  行下标（从0开始）
+     * @param rowData 行数据（首行为完整的标题行；之后每行的列数与首行一致，或为{@link #projectColumns}返回的列）
+     */
+    void onRow(int rowNum, String[] rowData);
+
+    /**
+     * 读取到首行后、回调首行之前调用，决定之后每行读取哪些列，未读取的单元格不会被格式化
+     *
+     * @param titles 首行（标题行）
+     * @return 输出行第k列 -> sheet列下标（-1表示该列不存在，输出""）；返回null时读取首行的所有列
+     */
+    default int[] projectColumns(String[] titles) {
+        return null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.github.wuyanzuplus.excel.core;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * sheet行数据迭代器（按需拉取），使用完毕后需关闭以释放文件资源
+ *
+ * @author daniel.hu
+ */
+interface SheetRowIterator extends Iterator<String[]>, Closeable {
+
+    @Override
+    void close();
+}
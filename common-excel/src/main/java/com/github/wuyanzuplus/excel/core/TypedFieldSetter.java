@@ -0,0 +1,257 @@
+package com.github.wuyanzuplus.excel.core;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 导入: 类型化字段写入（{@link ExcelHandler#getImportType()}或{@link TypedValueImportResolver}）
+ * <pre>
+ *     数值/日期/布尔单元格直接使用原始值，文本单元格按类型解析；基本类型字段通过对应类型的MethodHandle写入，不装箱
+ *     支持的类型：int/long/double/boolean及其包装类、BigDecimal、LocalDate、LocalDateTime、Date
+ *     空文本不写入（保留字段默认值）；转换失败返回TYPE_ERROR/DATE_FORMAT_ERROR
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+final class TypedFieldSetter {
+
+    private enum Kind {
+        INT, LONG, DOUBLE, BOOLEAN, BIG_DECIMAL, LOCAL_DATE, LOCAL_DATE_TIME, DATE, RESOLVER
+    }
+
+    private static final Map<Class<?>, Kind> KINDS = new HashMap<>();
+
+    static {
+        KINDS.put(int.class, Kind.INT);
+        KINDS.put(Integer.class, Kind.INT);
+        KINDS.put(long.class, Kind.LONG);
+        KINDS.put(Long.class, Kind.LONG);
+        KINDS.put(double.class, Kind.DOUBLE);
+        KINDS.put(Double.class, Kind.DOUBLE);
+        KINDS.put(boolean.class, Kind.BOOLEAN);
+        KINDS.put(Boolean.class, Kind.BOOLEAN);
+        KINDS.put(BigDecimal.class, Kind.BIG_DECIMAL);
+        KINDS.put(LocalDate.class, Kind.LOCAL_DATE);
+        KINDS.put(LocalDateTime.class, Kind.LOCAL_DATE_TIME);
+        KINDS.put(Date.class, Kind.DATE);
+    }
+
+    private static final String TYPE_ERROR = ExcelImportErrorEnum.TYPE_ERROR.name();
+
+    private static final String DATE_FORMAT_ERROR = ExcelImportErrorEnum.DATE_FORMAT_ERROR.name();
+
+    private static final double LONG_BOUND = 0x1p63;
+
+    private final Kind kind;
+
+    /**
+     * 是否为基本类型字段
+     */
+    private final boolean primitive;
+
+    /**
+     * 基本类型字段：(Object, int|long|double|boolean)void；其它：(Object, Object)void
+     */
+    private final MethodHandle setter;
+
+    private final TypedValueImportResolver<?> resolver;
+
+    private TypedFieldSetter(Kind kind, boolean primitive, MethodHandle setter, TypedValueImportResolver<?> resolver) {
+        this.kind = kind;
+        this.primitive = primitive;
+        this.setter = setter;
+        this.resolver = resolver;
+    }
+
+    /**
+     * 编译字段写入器
+     *
+     * @param handler      枚举
+     * @param field        目标字段
+     * @param objectSetter (Object, Object)void
+     * @return 未声明类型化导入时返回null
+     */
+    static TypedFieldSetter of(ExcelHandler handler, Field field, MethodHandle objectSetter) {
+        ValueImportResolver<?> resolver = handler.getValueImportResolver();
+        if (resolver instanceof TypedValueImportResolver) {
+            return new TypedFieldSetter(Kind.RESOLVER, false, objectSetter, (TypedValueImportResolver<?>) resolver);
+        }
+        Class<?> importType = handler.getImportType();
+        if (importType == null) {
+            return null;
+        }
+        Kind kind = KINDS.get(importType);
+        if (kind == null || kind != KINDS.get(field.getType())) {
+            throw new IllegalArgumentException(String.format("Cannot import field %s.%s (%s) as %s",
+                    field.getDeclaringClass().getName(), field.getName(), field.getType().getName(), importType.getName()));
+        }
+        boolean primitive = field.getType().isPrimitive();
+        return new TypedFieldSetter(kind, primitive, primitive ? ExcelFieldBinder.setterOf(field, field.getType()) : objectSetter, null);
+    }
+
+    /**
+     * 将第i列的值写入目标字段
+     *
+     * @return 错误（ExcelImportErrorEnum.name()），成功返回null
+     */
+    String set(Object target, TypedRow row, int i) throws Throwable {
+        byte type = row.getType(i);
+        if (kind == Kind.RESOLVER) {
+            setter.invokeExact(target, resolve(row, i, type));
+            return null;
+        }
+        switch (type) {
+            case TypedRow.NUMERIC:
+            case TypedRow.DATE:
+                return setNumber(target, row.getNumber(i));
+            case TypedRow.BOOLEAN:
+                if (kind != Kind.BOOLEAN) {
+                    return TYPE_ERROR;
+                }
+                setBoolean(target, row.getBoolean(i));
+                return null;
+            default:
+                String text = StringUtils.trim(row.getText(i));
+                return StringUtils.isEmpty(text) ? null : setText(target, text);
+        }
+    }
+
+    private Object resolve(TypedRow row, int i, byte type) {
+        switch (type) {
+            case TypedRow.NUMERIC:
+                return resolver.resolveNumeric(row.getNumber(i));
+            case TypedRow.DATE:
+                return resolver.resolveDate(toLocalDateTime(DateUtil.getJavaDate(row.getNumber(i))));
+            case TypedRow.BOOLEAN:
+                return resolver.resolveBoolean(row.getBoolean(i));
+            default:
+                return resolver.importResolve(row.getText(i));
+        }
+    }
+
+    private String setNumber(Object target, double value) throws Throwable {
+        switch (kind) {
+            case INT:
+                if (value != Math.rint(value) || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                    return TYPE_ERROR;
+                }
+                setInt(target, (int) value);
+                return null;
+            case LONG:
+                if (value != Math.rint(value) || value < -LONG_BOUND || value >= LONG_BOUND) {
+                    return TYPE_ERROR;
+                }
+                setLong(target, (long) value);
+                return null;
+            case DOUBLE:
+                setDouble(target, value);
+                return null;
+            case BIG_DECIMAL:
+                // 与Double.toString一致，即xlsx小数的文本
+                setter.invokeExact(target, (Object) BigDecimal.valueOf(value));
+                return null;
+            case LOCAL_DATE:
+            case LOCAL_DATE_TIME:
+            case DATE:
+                if (!DateUtil.isValidExcelDate(value)) {
+                    return DATE_FORMAT_ERROR;
+                }
+                setDate(target, toLocalDateTime(DateUtil.getJavaDate(value)));
+                return null;
+            default:
+                return TYPE_ERROR;
+        }
+    }
+
+    private String setText(Object target, String text) throws Throwable {
+        try {
+            switch (kind) {
+                case INT:
+                    setInt(target, new BigDecimal(text).intValueExact());
+                    return null;
+                case LONG:
+                    setLong(target, new BigDecimal(text).longValueExact());
+                    return null;
+                case DOUBLE:
+                    setDouble(target, Double.parseDouble(text));
+                    return null;
+                case BIG_DECIMAL:
+                    setter.invokeExact(target, (Object) new BigDecimal(text));
+                    return null;
+                case BOOLEAN:
+                    if (!"true".equalsIgnoreCase(text) && !"false".equalsIgnoreCase(text)) {
+                        return TYPE_ERROR;
+                    }
+                    setBoolean(target, Boolean.parseBoolean(text));
+                    return null;
+                default:
+                    // 日期单元格格式化后的文本为yyyy-MM-dd
+                    setDate(target, text.length() <= 10 ? LocalDate.parse(text).atStartOfDay() : LocalDateTime.parse(text.replace(' ', 'T')));
+                    return null;
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            return TYPE_ERROR;
+        } catch (DateTimeParseException e) {
+            return DATE_FORMAT_ERROR;
+        }
+    }
+
+    private void setInt(Object target, int value) throws Throwable {
+        if (primitive) {
+            setter.invokeExact(target, value);
+        } else {
+            setter.invokeExact(target, (Object) value);
+        }
+    }
+
+    private void setLong(Object target, long value) throws Throwable {
+        if (primitive) {
+            setter.invokeExact(target, value);
+        } else {
+            setter.invokeExact(target, (Object) value);
+        }
+    }
+
+    private void setDouble(Object target, double value) throws Throwable {
+        if (primitive) {
+            setter.invokeExact(target, value);
+        } else {
+            setter.invokeExact(target, (Object) value);
+        }
+    }
+
+    private void setBoolean(Object target, boolean value) throws Throwable {
+        if (primitive) {
+            setter.invokeExact(target, value);
+        } else {
+            setter.invokeExact(target, (Object) value);
+        }
+    }
+
+    private void setDate(Object target, LocalDateTime value) throws Throwable {
+        Object date;
+        if (kind == Kind.LOCAL_DATE) {
+            date = value.toLocalDate();
+        } else if (kind == Kind.LOCAL_DATE_TIME) {
+            date = value;
+        } else {
+            date = Date.from(value.atZone(ZoneId.systemDefault()).toInstant());
+        }
+        setter.invokeExact(target, date);
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.wuyanzuplus.excel.core;
+
+import java.util.Arrays;
+
+/**
+ * 类型化行数据：按原始值读取的列中，数值/日期/布尔单元格保存原始值，其余单元格保存格式化后的文本
+ * <pre>
+ *     原始值保存在基本类型数组中，不会装箱；日期保存为Excel的日期序列值
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+final class TypedRow {
+
+    static final byte TEXT = 0;
+
+    static final byte NUMERIC = 1;
+
+    static final byte DATE = 2;
+
+    static final byte BOOLEAN = 3;
+
+    /**
+     * 文本（原始值单元格为null）
+     */
+    private final String[] texts;
+
+    /**
+     * 单元格类型（全部为文本时为null）
+     */
+    private final byte[] types;
+
+    private final double[] numbers;
+
+    /**
+     * 空行：所有列为""
+     */
+    TypedRow(int size) {
+        this.texts = new String[size];
+        Arrays.fill(texts, "");
+        this.types = new byte[size];
+        this.numbers = new double[size];
+    }
+
+    /**
+     * 文本行（没有原始值，如按需迭代、并行校验时）
+     */
+    TypedRow(String[] texts) {
+        this.texts = texts;
+        this.types = null;
+        this.numbers = null;
+    }
+
+    String[] getTexts() {
+        return texts;
+    }
+
+    byte getType(int i) {
+        return types == null ? TEXT : types[i];
+    }
+
+    String getText(int i) {
+        return texts[i];
+    }
+
+    double getNumber(int i) {
+        return numbers[i];
+    }
+
+    boolean getBoolean(int i) {
+        return numbers[i] != 0;
+    }
+
+    void setText(int i, String text) {
+        texts[i] = text;
+        types[i] = TEXT;
+    }
+
+    /**
+     * @param date 是否为日期格式（value为Excel日期序列值）
+     */
+    void setNumber(int i, double value, boolean date) {
+        texts[i] = null;
+        types[i] = date ? DATE : NUMERIC;
+        numbers[i] = value;
+    }
+
+    void setBoolean(int i, boolean value) {
+        texts[i] = null;
+        types[i] = BOOLEAN;
+        numbers[i] = value ? 1 : 0;
+    }
+}
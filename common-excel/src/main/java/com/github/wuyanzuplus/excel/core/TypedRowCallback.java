@@ -0,0 +1,33 @@
+package com.github.wuyanzuplus.excel.core;
+
+/**
+ * 按原始值读取的sheet行回调：数值/日期/布尔单元格不格式化为文本
+ *
+ * @author daniel.hu
+ */
+interface TypedRowCallback extends SheetRowCallback {
+
+    /**
+     * 在{@link #projectColumns}之后调用，决定哪些输出列按原始值读取，之后的数据行改为通过{@link #onRow(int, TypedRow)}回调
+     *
+     * @return 输出列 -> 是否按原始值读取；返回null时所有单元格都格式化为文本，仍通过{@link #onRow(int, String[])}回调
+     */
+    boolean[] rawColumns();
+
+    /**
+     * 读取到一个数据行（{@link #rawColumns}返回非null时）
+     *
+     * @param rowNum 行下标
+     * @param row    行数据
+     */
+    void onRow(int rowNum, TypedRow row);
+
+    /**
+     * 读取方使用：回调按原始值读取的列
+     *
+     * @return 不是TypedRowCallback时返回null
+     */
+    static boolean[] rawColumnsOf(SheetRowCallback callback) {
+        return callback instanceof TypedRowCallback ? ((TypedRowCallback) callback).rawColumns() : null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.wuyanzuplus.excel.core;
+
+import java.time.LocalDateTime;
+
+/**
+ * 类型化导入值处理器：数值/日期/布尔单元格直接以原始值回调，不再格式化为文本后重新解析
+ * <pre>
+ *     文本单元格，以及无法获取原始值的读取方式（按需迭代、并行校验、transformData）仍调用importResolve(String)；
+ *     配置了ValueValidator的列需要文本校验，同样只调用importResolve(String)
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+public interface TypedValueImportResolver<T> extends ValueImportResolver<T> {
+
+    /**
+     * 数值单元格
+     */
+    T resolveNumeric(double value);
+
+    /**
+     * 日期单元格（默认按文本yyyy-MM-dd处理，与格式化后的文本一致）
+     */
+    default T resolveDate(LocalDateTime value) {
+        return importResolve(value.toLocalDate().toString());
+    }
+
+    /**
+     * 布尔单元格（默认按文本true/false处理）
+     */
+    default T resolveBoolean(boolean value) {
+        return importResolve(String.valueOf(value));
+    }
+}
@@ -0,0 +1,210 @@
+package com.github.wuyanzuplus.excel.core;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 导入: 唯一约束索引（{@link ExcelHandler#getUniqueKey()}），按行顺序登记合法行的键值，一次线性扫描完成去重
+ * <pre>
+ *     每个约束一张开放寻址（线性探测）哈希表，键的哈希值保存在int数组中，先比较哈希值，相同时再比较键值确认；
+ *     单列约束直接以单元格文本为键（原始值单元格先格式化为文本），多列约束的键为各列以长度为前缀的拼接（不会因分隔符产生歧义）；
+ *     非线程安全，只在读取线程中调用
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+final class UniqueKeyIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * 约束 -> 组成约束的枚举下标
+     */
+    private final int[][] keyColumns;
+
+    private final KeySet[] keySets;
+
+    private final String[] keys;
+
+    private UniqueKeyIndex(int[][] keyColumns) {
+        this.keyColumns = keyColumns;
+        this.keySets = new KeySet[keyColumns.length];
+        for (int i = 0; i < keySets.length; i++) {
+            keySets[i] = new KeySet();
+        }
+        this.keys = new String[keyColumns.length];
+    }
+
+    /**
+     * @param handlers 枚举值（all）
+     * @return 没有唯一约束时返回null
+     */
+    static UniqueKeyIndex of(ExcelHandler[] handlers) {
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < handlers.length; i++) {
+            String uniqueKey = handlers[i].getUniqueKey();
+            if (uniqueKey != null) {
+                groups.computeIfAbsent(uniqueKey, key -> new ArrayList<>()).add(i);
+            }
+        }
+        if (groups.isEmpty()) {
+            return null;
+        }
+        int[][] keyColumns = new int[groups.size()][];
+        int index = 0;
+        for (List<Integer> columns : groups.values()) {
+            keyColumns[index++] = columns.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new UniqueKeyIndex(keyColumns);
+    }
+
+    /**
+     * 登记一行：所有约束都不重复时登记该行的键值
+     *
+     * @param row 行数据（按枚举顺序）
+     * @return 重复的约束的首列（枚举下标），不重复返回-1
+     */
+    int add(TypedRow row) {
+        for (int i = 0; i < keyColumns.length; i++) {
+            String key = keyOf(row, keyColumns[i]);
+            if (key != null && keySets[i].contains(key)) {
+                return keyColumns[i][0];
+            }
+            keys[i] = key;
+        }
+        for (int i = 0; i < keyColumns.length; i++) {
+            if (keys[i] != null) {
+                keySets[i].add(keys[i]);
+                keys[i] = null;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return 键值，所有列都为空时返回null
+     */
+    private static String keyOf(TypedRow row, int[] columns) {
+        if (columns.length == 1) {
+            return valueOf(row, columns[0]);
+        }
+        StringBuilder key = null;
+        for (int i = 0; i < columns.length; i++) {
+            String value = valueOf(row, columns[i]);
+            if (value != null && key == null) {
+                key = new StringBuilder(32);
+                for (int j = 0; j < i; j++) {
+                    key.append("0:");
+                }
+            }
+            if (key != null) {
+                String part = value == null ? "" : value;
+                key.append(part.length()).append(':').append(part);
+            }
+        }
+        return key == null ? null : key.toString();
+    }
+
+    /**
+     * 单元格的键值：原始值单元格按读取为文本时的规则格式化（{@link CellValueFormatter#textOf}），
+     * 文本为Double.toString形式的数值（xlsx中含小数点的数值按文本读取时的结果，如"1001.0"）时同样按数值格式化，
+     * 同一个值不论按原始值还是按文本读取、顺序还是并行转换，键值都相同；其它文本（如"01001"）保持原样
+     *
+     * @return 单元格的键值，空单元格返回null
+     */
+    private static String valueOf(TypedRow row, int i) {
+        String text = CellValueFormatter.textOf(row, i);
+        if (StringUtils.isBlank(text)) {
+            return null;
+        }
+        return row.getType(i) == TypedRow.TEXT ? normalizeNumber(text) : text;
+    }
+
+    private static String normalizeNumber(String text) {
+        if (text.indexOf('.') < 0 || !isNumberChars(text)) {
+            return text;
+        }
+        double value;
+        try {
+            value = Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            return text;
+        }
+        return Double.toString(value).equals(text) ? CellValueFormatter.formatNumber(value) : text;
+    }
+
+    private static boolean isNumberChars(String text) {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if ((c < '0' || c > '9') && c != '.' && c != '-' && c != 'E') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 开放寻址哈希集合：hashes与keys为平行数组，keys[slot] == null表示空槽位
+     */
+    private static final class KeySet {
+
+        private int[] hashes = new int[INITIAL_CAPACITY];
+
+        private String[] keys = new String[INITIAL_CAPACITY];
+
+        private int size;
+
+        boolean contains(String key) {
+            int hash = hash(key);
+            int mask = keys.length - 1;
+            for (int slot = hash & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+                if (hashes[slot] == hash && keys[slot].equals(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 添加键值（调用方已确认不存在）
+         */
+        void add(String key) {
+            if (++size > keys.length >>> 1) {
+                resize();
+            }
+            insert(hashes, keys, hash(key), key);
+        }
+
+        private void resize() {
+            int[] newHashes = new int[keys.length << 1];
+            String[] newKeys = new String[keys.length << 1];
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null) {
+                    insert(newHashes, newKeys, hashes[i], keys[i]);
+                }
+            }
+            hashes = newHashes;
+            keys = newKeys;
+        }
+
+        private static void insert(int[] hashes, String[] keys, int hash, String key) {
+            int mask = keys.length - 1;
+            int slot = hash & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot] = hash;
+            keys[slot] = key;
+        }
+
+        private static int hash(String key) {
+            // 打散String.hashCode的低位，线性探测时减少聚集
+            int h = key.hashCode() * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
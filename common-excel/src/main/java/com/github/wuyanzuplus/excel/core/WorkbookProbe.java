@@ -0,0 +1,187 @@
+package com.github.wuyanzuplus.excel.core;
+
+import lombok.Getter;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.record.DimensionsRecord;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.util.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 读取前的预检：只读取zip中央目录及各sheet开头的&lt;dimension&gt;，不解析行数据
+ * <pre>
+ *     xlsx：解压后大小、各文件的压缩比、各sheet的行列数（dimension缺失时为-1）
+ *     xls：OLE2不压缩，解压后大小即文件大小，配置了行数上限时读取各sheet的DIMENSIONS记录得到行列数
+ *     中央目录中的大小可能被伪造，实际解压时仍由POI（ZipSecureFile）按压缩比校验；
+ *     dimension可能缺失或与实际不符，读取时仍按实际行号校验行数上限（{@link #checkRow}）
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+@Getter
+final class WorkbookProbe {
+
+    /**
+     * 小于该大小的文件不校验压缩比（内容重复的小XML压缩比本身就很高）
+     */
+    private static final long RATIO_GRACE_SIZE = 1024 * 1024;
+
+    /**
+     * dimension位于sheet开头（sheetPr之后），只读取sheet的前8K
+     */
+    private static final int DIMENSION_SCAN_SIZE = 8 * 1024;
+
+    private static final Pattern WORKSHEET = Pattern.compile("xl/worksheets/[^/]+\\.xml");
+
+    private static final Pattern DIMENSION = Pattern.compile("<(?:\\w+:)?dimension\\s+ref=\"([^\"]+)\"");
+
+    /**
+     * 文件大小
+     */
+    private final long fileSize;
+
+    /**
+     * 解压后的大小
+     */
+    private final long uncompressedSize;
+
+    /**
+     * 单个文件的最大压缩比（解压后大小 / 压缩后大小）
+     */
+    private final double expansionRatio;
+
+    /**
+     * 各sheet中最大的行数（-1表示未知）
+     */
+    private final int rowCount;
+
+    /**
+     * 各sheet中最大的列数（-1表示未知）
+     */
+    private final int columnCount;
+
+    private WorkbookProbe(long fileSize, long uncompressedSize, double expansionRatio, int rowCount, int columnCount) {
+        this.fileSize = fileSize;
+        this.uncompressedSize = uncompressedSize;
+        this.expansionRatio = expansionRatio;
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+    }
+
+    /**
+     * xls（OLE2）：先校验文件大小，配置了行数上限时才读取DIMENSIONS记录（需要遍历整个文件的记录）
+     *
+     * @param fs xls文件（由调用方释放）
+     */
+    static WorkbookProbe ofOle2(POIFSFileSystem fs, long fileSize, ExcelReadOptions options) throws IOException {
+        WorkbookProbe probe = new WorkbookProbe(fileSize, fileSize, 1, -1, -1);
+        probe.check(options);
+        if (options.getMaxRows() <= 0) {
+            return probe;
+        }
+        int[] dimension = {-1, -1};
+        HSSFRequest request = new HSSFRequest();
+        request.addListener(record -> {
+            dimension[0] = Math.max(dimension[0], ((DimensionsRecord) record).getLastRow());
+            dimension[1] = Math.max(dimension[1], ((DimensionsRecord) record).getLastCol());
+        }, DimensionsRecord.sid);
+        new HSSFEventFactory().processWorkbookEvents(request, fs);
+        return new WorkbookProbe(fileSize, fileSize, 1, dimension[0], dimension[1]);
+    }
+
+    /**
+     * xlsx（OOXML）：先校验中央目录，压缩比正常时才读取dimension
+     */
+    static WorkbookProbe ofZip(ZipFile zip, long fileSize, ExcelReadOptions options) throws IOException {
+        long uncompressedSize = 0;
+        double expansionRatio = 1;
+        for (Enumeration<ZipArchiveEntry> entries = zip.getEntries(); entries.hasMoreElements(); ) {
+            ZipArchiveEntry entry = entries.nextElement();
+            long size = entry.getSize();
+            long compressedSize = entry.getCompressedSize();
+            if (size < 0 || compressedSize < 0) {
+                continue;
+            }
+            uncompressedSize += size;
+            if (size > RATIO_GRACE_SIZE) {
+                expansionRatio = Math.max(expansionRatio, (double) size / Math.max(compressedSize, 1));
+            }
+        }
+        new WorkbookProbe(fileSize, uncompressedSize, expansionRatio, -1, -1).check(options);
+
+        int rowCount = -1;
+        int columnCount = -1;
+        for (Enumeration<ZipArchiveEntry> entries = zip.getEntries(); entries.hasMoreElements(); ) {
+            ZipArchiveEntry entry = entries.nextElement();
+            if (!WORKSHEET.matcher(entry.getName()).matches()) {
+                continue;
+            }
+            CellRangeAddress dimension = readDimension(zip, entry);
+            if (dimension != null) {
+                rowCount = Math.max(rowCount, dimension.getLastRow() + 1);
+                columnCount = Math.max(columnCount, dimension.getLastColumn() + 1);
+            }
+        }
+        return new WorkbookProbe(fileSize, uncompressedSize, expansionRatio, rowCount, columnCount);
+    }
+
+    private static CellRangeAddress readDimension(ZipFile zip, ZipArchiveEntry entry) throws IOException {
+        byte[] head = new byte[DIMENSION_SCAN_SIZE];
+        int length;
+        try (InputStream in = zip.getInputStream(entry)) {
+            length = IOUtils.readFully(in, head);
+        }
+        if (length <= 0) {
+            return null;
+        }
+        Matcher matcher = DIMENSION.matcher(new String(head, 0, length, StandardCharsets.UTF_8));
+        if (!matcher.find()) {
+            return null;
+        }
+        try {
+            return CellRangeAddress.valueOf(matcher.group(1));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 按读取配置中的上限校验
+     *
+     * @throws ExcelResolvingException 超出上限
+     */
+    void check(ExcelReadOptions options) {
+        if (options.getMaxExpansionRatio() > 0 && expansionRatio > options.getMaxExpansionRatio()) {
+            throw new ExcelResolvingException(ExcelImportErrorEnum.FILE_EXPANSION_ERROR.getValue());
+        }
+        if (options.getMaxUncompressedSize() > 0 && uncompressedSize > options.getMaxUncompressedSize()) {
+            throw new ExcelResolvingException(ExcelImportErrorEnum.FILE_TOO_LARGE.getValue());
+        }
+        if (options.getMaxRows() > 0 && rowCount > options.getMaxRows()) {
+            throw new ExcelResolvingException(ExcelImportErrorEnum.FILE_TOO_LARGE.getValue());
+        }
+    }
+
+    /**
+     * 读取时按实际行号校验行数上限
+     *
+     * @param rowNum  行号（从0开始）
+     * @param maxRows 最大行数（小于等于0时不限制）
+     * @throws ExcelResolvingException 超出上限
+     */
+    static void checkRow(int rowNum, int maxRows) {
+        if (maxRows > 0 && rowNum >= maxRows) {
+            throw new ExcelResolvingException(ExcelImportErrorEnum.FILE_TOO_LARGE.getValue());
+        }
+    }
+}
@@ -0,0 +1,466 @@
+package com.github.wuyanzuplus.excel.core;
+
+import lombok.SneakyThrows;
+import org.apache.poi.hssf.eventusermodel.EventWorkbookBuilder.SheetRecordCollectingListener;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.model.HSSFFormulaParser;
+import org.apache.poi.hssf.record.ArrayRecord;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BlankRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.DimensionsRecord;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.ExtendedFormatRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.RowRecord;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.SharedFormulaRecord;
+import org.apache.poi.hssf.record.SharedValueRecordBase;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.formula.ptg.Ptg;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.ss.util.CellReference;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 基于HSSF事件模型的xls流式读取，不构建HSSFWorkbook，单元格格式化规则与DOM方式（{@link CellValueFormatter#formatCell}）保持一致
+ * <pre>
+ *     监听链：SheetRecordCollectingListener（公式解析用的stub workbook） -> FormatTrackingHSSFListener（格式字符串）
+ *     -> MissingRecordAwareHSSFListener（展开MulRK/MulBlank，行结束事件） -> 本类
+ *     共享公式（SHRFMLA）与数组公式（ARRAY）记录不经过MissingRecordAwareHSSFListener（其会在ARRAY记录前插入行结束事件），直接交给本类
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+final class XlsStreamingReader implements HSSFListener {
+
+    private static final String EMPTY = "";
+
+    private final boolean firstSheetOnly;
+
+    /**
+     * 最大行数（小于等于0时不限制）
+     */
+    private final int maxRows;
+
+    private final Function<String, SheetRowCallback> callbacks;
+
+    private final SheetRecordCollectingListener workbookListener;
+
+    private final FormatTrackingHSSFListener formatListener;
+
+    private final CellValueFormatter formatter;
+
+    private final List<BoundSheetRecord> boundSheets = new ArrayList<>();
+
+    private final List<ExtendedFormatRecord> xfRecords = new ArrayList<>();
+
+    private BoundSheetRecord[] orderedSheets;
+
+    private SSTRecord sst;
+
+    private HSSFWorkbook stubWorkbook;
+
+    private int depth;
+
+    private int sheetIndex = -1;
+
+    private SheetRowCallback callback;
+
+    /**
+     * 当前sheet中定义过的行（RowRecord），DOM方式下这些行即使没有单元格也会被读取
+     */
+    private final BitSet definedRows = new BitSet();
+
+    private int lastFlushedRow;
+
+    private int cellNum;
+
+    /**
+     * sheet列下标 -> 输出列
+     */
+    private int[] slots;
+
+    /**
+     * 输出列 -> 是否按原始值读取（null表示全部格式化为文本）
+     */
+    private boolean[] raw;
+
+    private TypedRow typedRow;
+
+    private int pendingRow;
+
+    /**
+     * 当前sheet的DIMENSIONS记录中的行数（-1表示未记录）
+     */
+    private int dimensionRows = -1;
+
+    /**
+     * 当前sheet的共享公式/数组公式，key为区域的首个单元格（即其余单元格ExpPtg引用的单元格）
+     */
+    private final Map<CellAddress, SharedValueRecordBase> sharedValues = new HashMap<>();
+
+    /**
+     * 共享公式/数组公式区域的首个单元格：SHRFMLA/ARRAY记录在该单元格之后，读到记录时再写入
+     */
+    private FormulaRecord pendingFormula;
+
+    private int pendingFormulaSlot;
+
+    private List<String> firstRow;
+
+    private String[] rowData;
+
+    private XlsStreamingReader(boolean firstSheetOnly, Function<String, SheetRowCallback> callbacks, int maxRows) {
+        this.firstSheetOnly = firstSheetOnly;
+        this.maxRows = maxRows;
+        this.callbacks = callbacks;
+        HSSFListener missingRecordListener = new MissingRecordAwareHSSFListener(this);
+        this.formatListener = new FormatTrackingHSSFListener(record -> {
+            if (record instanceof SharedFormulaRecord || record instanceof ArrayRecord) {
+                processSharedValue((SharedValueRecordBase) record);
+            } else {
+                missingRecordListener.processRecord(record);
+            }
+        });
+        this.workbookListener = new SheetRecordCollectingListener(formatListener);
+        this.formatter = new CellValueFormatter(this::isDateStyle);
+    }
+
+    /**
+     * 流式读取xls
+     *
+     * @param fs             xls文件（读取结束后释放）
+     * @param firstSheetOnly 是否只读取首个sheet页
+     * @param callbacks      sheet名称 -> 该sheet的行回调
+     * @param options        读取配置
+     */
+    static void read(POIFSFileSystem fs, boolean firstSheetOnly, Function<String, SheetRowCallback> callbacks, ExcelReadOptions options) {
+        new XlsStreamingReader(firstSheetOnly, callbacks, options.getMaxRows()).process(fs);
+    }
+
+    /**
+     * 预检：只读取sheet名称、首个sheet页的DIMENSIONS记录与标题行，读取到标题行即停止
+     *
+     * @param fs       xls文件（读取结束后释放）
+     * @param handlers 枚举值（all）
+     */
+    static ExcelProbeResult probe(POIFSFileSystem fs, ExcelHandler[] handlers) {
+        String[][] titles = {new String[0]};
+        XlsStreamingReader reader = new XlsStreamingReader(true, sheetName -> (rowNum, rowData) -> {
+            titles[0] = rowData;
+            throw new StopReadingException();
+        }, 0);
+        reader.process(fs);
+        List<String> sheetNames = new ArrayList<>();
+        for (BoundSheetRecord sheet : BoundSheetRecord.orderByBofPosition(reader.boundSheets)) {
+            sheetNames.add(sheet.getSheetname());
+        }
+        return new ExcelProbeResult(sheetNames, titles[0], reader.dimensionRows, handlers);
+    }
+
+    @SneakyThrows
+    private void process(POIFSFileSystem fs) {
+        HSSFRequest request = new HSSFRequest();
+        request.addListenerForAllRecords(workbookListener);
+        try (POIFSFileSystem in = fs) {
+            new HSSFEventFactory().processWorkbookEvents(request, in);
+        } catch (StopReadingException e) {
+            // 只读取首个sheet页（或标题行）时，读完即停止
+        }
+    }
+
+    @Override
+    public void processRecord(Record record) {
+        switch (record.getSid()) {
+            case BoundSheetRecord.sid:
+                boundSheets.add((BoundSheetRecord) record);
+                break;
+            case ExtendedFormatRecord.sid:
+                xfRecords.add((ExtendedFormatRecord) record);
+                break;
+            case SSTRecord.sid:
+                sst = (SSTRecord) record;
+                break;
+            case BOFRecord.sid:
+                // sheet中内嵌的图表也是BOF/EOF包围的子流，只处理最外层
+                if (++depth == 1 && ((BOFRecord) record).getType() != BOFRecord.TYPE_WORKBOOK) {
+                    sheetIndex++;
+                    if (((BOFRecord) record).getType() == BOFRecord.TYPE_WORKSHEET) {
+                        startSheet();
+                    }
+                }
+                break;
+            case EOFRecord.sid:
+                if (depth-- == 1 && callback != null) {
+                    endSheet();
+                }
+                break;
+            case DimensionsRecord.sid:
+                if (depth == 1 && callback != null) {
+                    dimensionRows = ((DimensionsRecord) record).getLastRow();
+                }
+                break;
+            case RowRecord.sid:
+                definedRows.set(((RowRecord) record).getRowNumber());
+                break;
+            default:
+                if (record instanceof CellValueRecordInterface) {
+                    CellValueRecordInterface cell = (CellValueRecordInterface) record;
+                    int slot = cellSlot(cell.getRow(), cell.getColumn());
+                    if (slot >= 0 && !readRawCell(slot, record)) {
+                        putCell(slot, formatCell(slot, record));
+                    }
+                } else if (record instanceof LastCellOfRowDummyRecord && callback != null) {
+                    flushThrough(((LastCellOfRowDummyRecord) record).getRow());
+                }
+        }
+    }
+
+    /**
+     * 共享公式/数组公式记录，紧跟在区域的首个单元格之后
+     */
+    private void processSharedValue(SharedValueRecordBase record) {
+        if (callback == null || depth != 1) {
+            return;
+        }
+        sharedValues.put(new CellAddress(record.getFirstRow(), record.getFirstColumn()), record);
+        if (pendingFormula != null && record.isFirstCell(pendingFormula.getRow(), pendingFormula.getColumn())) {
+            putCell(pendingFormulaSlot, HSSFFormulaParser.toFormulaString(getStubWorkbook(), formulaTokens(record, pendingFormula)));
+        }
+        pendingFormula = null;
+    }
+
+    /**
+     * 处理单元格格式，规则同CellValueFormatter#formatCell
+     */
+    private String formatCell(int slot, Record record) {
+        switch (record.getSid()) {
+            case NumberRecord.sid:
+                NumberRecord number = (NumberRecord) record;
+                return formatter.formatNumeric(number.getValue(), number.getXFIndex());
+            case LabelSSTRecord.sid:
+                return sst.getString(((LabelSSTRecord) record).getSSTIndex()).getString();
+            case LabelRecord.sid:
+                return ((LabelRecord) record).getValue();
+            case BoolErrRecord.sid:
+                BoolErrRecord boolErr = (BoolErrRecord) record;
+                return boolErr.isBoolean() ? String.valueOf(boolErr.getBooleanValue()) : String.valueOf(boolErr.getErrorValue());
+            case FormulaRecord.sid:
+                return formatFormula(slot, (FormulaRecord) record);
+            case BlankRecord.sid:
+                return EMPTY;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 公式文本，共享公式/数组公式（只有一个ExpPtg）按其SHRFMLA/ARRAY记录还原，同HSSFCell#getCellFormula
+     *
+     * @return null: 共享公式/数组公式区域的首个单元格，待读到其后的SHRFMLA/ARRAY记录时写入
+     */
+    private String formatFormula(int slot, FormulaRecord formula) {
+        CellReference expReference = formula.getFormula().getExpReference();
+        if (expReference == null) {
+            return HSSFFormulaParser.toFormulaString(getStubWorkbook(), formula.getParsedExpression());
+        }
+        SharedValueRecordBase shared = sharedValues.get(new CellAddress(expReference.getRow(), expReference.getCol()));
+        if (shared == null) {
+            pendingFormula = formula;
+            pendingFormulaSlot = slot;
+            return null;
+        }
+        return HSSFFormulaParser.toFormulaString(getStubWorkbook(), formulaTokens(shared, formula));
+    }
+
+    private static Ptg[] formulaTokens(SharedValueRecordBase shared, FormulaRecord formula) {
+        if (shared instanceof SharedFormulaRecord) {
+            return ((SharedFormulaRecord) shared).getFormulaTokens(formula);
+        }
+        return ((ArrayRecord) shared).getFormulaTokens();
+    }
+
+    /**
+     * 数值/日期/布尔单元格保留原始值
+     *
+     * @return false: 其它单元格（或不按原始值读取的列），需格式化为文本
+     */
+    private boolean readRawCell(int slot, Record record) {
+        if (cellNum < 0 || raw == null || !raw[slot]) {
+            return false;
+        }
+        if (record instanceof NumberRecord) {
+            NumberRecord number = (NumberRecord) record;
+            typedRow.setNumber(slot, number.getValue(), formatter.isDate(number.getValue(), number.getXFIndex()));
+            return true;
+        }
+        if (record instanceof BoolErrRecord && ((BoolErrRecord) record).isBoolean()) {
+            typedRow.setBoolean(slot, ((BoolErrRecord) record).getBooleanValue());
+            return true;
+        }
+        return false;
+    }
+
+    private void startSheet() {
+        if (orderedSheets == null) {
+            orderedSheets = BoundSheetRecord.orderByBofPosition(boundSheets);
+        }
+        callback = callbacks.apply(orderedSheets[sheetIndex].getSheetname());
+        definedRows.clear();
+        sharedValues.clear();
+        pendingFormula = null;
+        lastFlushedRow = -1;
+        cellNum = -1;
+        raw = null;
+        pendingRow = -1;
+    }
+
+    private void endSheet() {
+        flushThrough(Math.max(definedRows.length() - 1, pendingRow));
+        callback = null;
+        if (firstSheetOnly) {
+            throw new StopReadingException();
+        }
+    }
+
+    /**
+     * 单元格写入的列（首行为sheet列下标，之后为投影后的列），-1表示不读取该单元格
+     */
+    private int cellSlot(int row, int col) {
+        if (callback == null || depth != 1) {
+            return -1;
+        }
+        if (row != pendingRow) {
+            flushThrough(row - 1);
+            pendingRow = row;
+            if (cellNum < 0) {
+                firstRow = new ArrayList<>();
+            } else if (raw != null) {
+                typedRow = new TypedRow(cellNum);
+                rowData = typedRow.getTexts();
+            } else {
+                rowData = newRow();
+            }
+        }
+        return cellNum < 0 ? col : ColumnProjection.slotOf(slots, col);
+    }
+
+    private void putCell(int slot, String text) {
+        if (text == null) {
+            return;
+        }
+        if (cellNum < 0) {
+            while (firstRow.size() <= slot) {
+                firstRow.add(EMPTY);
+            }
+            firstRow.set(slot, text);
+        } else {
+            rowData[slot] = text;
+        }
+    }
+
+    /**
+     * 按行号顺序回调所有 &lt;= row 且尚未回调的行（有单元格的行及RowRecord定义的空行）
+     */
+    private void flushThrough(int row) {
+        while (true) {
+            int defined = definedRows.nextSetBit(lastFlushedRow + 1);
+            int next = defined >= 0 && defined <= row ? defined : Integer.MAX_VALUE;
+            if (pendingRow > lastFlushedRow && pendingRow <= row) {
+                next = Math.min(next, pendingRow);
+            }
+            if (next == Integer.MAX_VALUE) {
+                return;
+            }
+            emitRow(next);
+            lastFlushedRow = next;
+        }
+    }
+
+    private void emitRow(int row) {
+        WorkbookProbe.checkRow(row, maxRows);
+        String[] data;
+        TypedRow typed = null;
+        if (row == pendingRow) {
+            data = cellNum < 0 ? firstRow.toArray(new String[0]) : rowData;
+            typed = typedRow;
+            firstRow = null;
+            rowData = null;
+            typedRow = null;
+            pendingRow = -1;
+        } else if (cellNum >= 0 && raw != null) {
+            typed = new TypedRow(cellNum);
+            data = typed.getTexts();
+        } else {
+            data = cellNum < 0 ? new String[0] : newRow();
+        }
+        if (cellNum < 0) {
+            int[] columns = callback.projectColumns(data);
+            if (columns == null) {
+                columns = ColumnProjection.identity(data.length);
+            }
+            cellNum = columns.length;
+            slots = ColumnProjection.toSlots(columns);
+            raw = TypedRowCallback.rawColumnsOf(callback);
+        }
+        if (typed != null) {
+            ((TypedRowCallback) callback).onRow(row, typed);
+        } else {
+            callback.onRow(row, data);
+        }
+    }
+
+    private String[] newRow() {
+        String[] row = new String[cellNum];
+        Arrays.fill(row, EMPTY);
+        return row;
+    }
+
+    /**
+     * XF（样式）是否为日期格式，结果由CellValueFormatter按XF缓存
+     */
+    private boolean isDateStyle(int xfIndex) {
+        if (xfIndex >= xfRecords.size()) {
+            return false;
+        }
+        int formatIndex = xfRecords.get(xfIndex).getFormatIndex();
+        return DateUtil.isADateFormat(formatIndex, formatListener.getFormatString(formatIndex));
+    }
+
+    private HSSFWorkbook getStubWorkbook() {
+        if (stubWorkbook == null) {
+            stubWorkbook = workbookListener.getStubHSSFWorkbook();
+        }
+        return stubWorkbook;
+    }
+
+    /**
+     * 提前结束读取
+     */
+    private static class StopReadingException extends RuntimeException {
+        StopReadingException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.wuyanzuplus.excel.core;
+
+import lombok.SneakyThrows;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.util.StaxHelper;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * 基于StAX的xlsx行迭代器：每次只解析到下一行结束为止，行数据复用{@link XlsxSheetHandler}的格式化规则
+ *
+ * @author daniel.hu
+ */
+final class XlsxRowIterator implements SheetRowIterator {
+
+    private final OPCPackage pkg;
+
+    private final SharedStrings sharedStrings;
+
+    private final InputStream sheet;
+
+    private final XMLStreamReader reader;
+
+    private final XlsxSheetHandler handler;
+
+    private String[] next;
+
+    /**
+     * sheet中记录的dimension（如A1:E100）
+     */
+    private String dimension;
+
+    XlsxRowIterator(OPCPackage pkg, SharedStrings sharedStrings, StylesTable stylesTable, InputStream sheet, Function<String[], int[]> projector, int maxRows) throws XMLStreamException {
+        this.pkg = pkg;
+        this.sharedStrings = sharedStrings;
+        this.sheet = sheet;
+        this.reader = StaxHelper.newXMLInputFactory().createXMLStreamReader(sheet);
+        this.handler = new XlsxSheetHandler(sharedStrings, stylesTable, new SheetRowCallback() {
+            @Override
+            public void onRow(int rowNum, String[] rowData) {
+                next = rowData;
+            }
+
+            @Override
+            public int[] projectColumns(String[] titles) {
+                return projector.apply(titles);
+            }
+        }, maxRows);
+    }
+
+    @Override
+    @SneakyThrows
+    public boolean hasNext() {
+        while (next == null && reader.hasNext()) {
+            pump(reader.next());
+        }
+        return next != null;
+    }
+
+    @Override
+    public String[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String[] rowData = next;
+        next = null;
+        return rowData;
+    }
+
+    private void pump(int event) throws XMLStreamException {
+        switch (event) {
+            case XMLStreamConstants.START_ELEMENT:
+                if ("dimension".equals(reader.getLocalName())) {
+                    dimension = reader.getAttributeValue(null, "ref");
+                }
+                handler.startElement(reader.getLocalName(), name -> reader.getAttributeValue(null, name));
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                handler.endElement(reader.getLocalName());
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                handler.characters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                break;
+            default:
+        }
+    }
+
+    /**
+     * 已读取到的dimension（位于sheetData之前，读取首行后即可获取），未记录时返回null
+     */
+    String getDimension() {
+        return dimension;
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            // ignore
+        }
+        IOUtils.closeQuietly(sheet);
+        XlsxStreamingReader.closeQuietly(sharedStrings);
+        pkg.revert();
+    }
+}
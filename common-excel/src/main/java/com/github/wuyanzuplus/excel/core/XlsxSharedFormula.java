@@ -0,0 +1,186 @@
+package com.github.wuyanzuplus.excel.core;
+
+/**
+ * xlsx共享公式（{@code <f t="shared" si="0" ref="C2:C10">}）：只有首个单元格保存公式文本，其余单元格只有si，
+ * 按与首个单元格的行列偏移平移相对引用后得到各自的公式（对应DOM方式的XSSFCell#getCellFormula）
+ * <pre>
+ *     只平移A1形式的单元格引用（含区域两端、带sheet前缀的引用），$标记的绝对行/列不变；
+ *     字符串常量、带引号的sheet名、函数名（后跟"("）不作为引用处理；整行/整列引用（如A:A、1:1）不平移；
+ *     平移后超出sheet范围的引用输出为#REF!；
+ *     带sheet前缀的引用保留前缀（POI的DOM方式渲染共享公式时会丢失sheet前缀，这是两者唯一的差异）
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+final class XlsxSharedFormula {
+
+    private static final int MAX_COLUMN = 16383;
+
+    private static final int MAX_ROW = 1048575;
+
+    private final String formula;
+
+    private final int row;
+
+    private final int column;
+
+    /**
+     * @param formula 首个单元格的公式
+     * @param row     首个单元格的行（从0开始）
+     * @param column  首个单元格的列（从0开始）
+     */
+    XlsxSharedFormula(String formula, int row, int column) {
+        this.formula = formula;
+        this.row = row;
+        this.column = column;
+    }
+
+    /**
+     * @param targetRow    使用该公式的单元格的行
+     * @param targetColumn 使用该公式的单元格的列
+     * @return 平移后的公式
+     */
+    String formulaAt(int targetRow, int targetColumn) {
+        int rowOffset = targetRow - row;
+        int columnOffset = targetColumn - column;
+        if (rowOffset == 0 && columnOffset == 0) {
+            return formula;
+        }
+        StringBuilder result = new StringBuilder(formula.length() + 8);
+        int length = formula.length();
+        int i = 0;
+        while (i < length) {
+            char c = formula.charAt(i);
+            if (c == '"' || c == '\'') {
+                i = copyQuoted(result, i, c);
+            } else if (c == '[') {
+                int end = formula.indexOf(']', i);
+                end = end < 0 ? length : end + 1;
+                result.append(formula, i, end);
+                i = end;
+            } else if (isDigit(c)) {
+                i = copyNumber(result, i);
+            } else if (isNameChar(c)) {
+                int end = i + 1;
+                while (end < length && isNameChar(formula.charAt(end))) {
+                    end++;
+                }
+                appendToken(result, i, end, rowOffset, columnOffset);
+                i = end;
+            } else {
+                result.append(c);
+                i++;
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * 字符串常量或带引号的sheet名，引号以两个引号转义
+     */
+    private int copyQuoted(StringBuilder result, int start, char quote) {
+        int i = start + 1;
+        while (i < formula.length()) {
+            if (formula.charAt(i) == quote) {
+                if (i + 1 < formula.length() && formula.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                i++;
+                break;
+            }
+            i++;
+        }
+        result.append(formula, start, i);
+        return i;
+    }
+
+    /**
+     * 数值常量（含科学计数法，如1E+10），避免其中的"E10"被当作引用
+     */
+    private int copyNumber(StringBuilder result, int start) {
+        int length = formula.length();
+        int i = start;
+        while (i < length && (isDigit(formula.charAt(i)) || formula.charAt(i) == '.')) {
+            i++;
+        }
+        if (i < length && (formula.charAt(i) == 'E' || formula.charAt(i) == 'e')) {
+            int exponent = i + 1;
+            if (exponent < length && (formula.charAt(exponent) == '+' || formula.charAt(exponent) == '-')) {
+                exponent++;
+            }
+            if (exponent < length && isDigit(formula.charAt(exponent))) {
+                i = exponent;
+                while (i < length && isDigit(formula.charAt(i))) {
+                    i++;
+                }
+            }
+        }
+        result.append(formula, start, i);
+        return i;
+    }
+
+    private void appendToken(StringBuilder result, int start, int end, int rowOffset, int columnOffset) {
+        char next = end < formula.length() ? formula.charAt(end) : 0;
+        // 函数名、sheet名不是引用
+        if (next == '(' || next == '!') {
+            result.append(formula, start, end);
+            return;
+        }
+        int i = start;
+        boolean absoluteColumn = formula.charAt(i) == '$';
+        if (absoluteColumn) {
+            i++;
+        }
+        int columnStart = i;
+        while (i < end && i - columnStart < 4 && isLetter(formula.charAt(i))) {
+            i++;
+        }
+        int columnEnd = i;
+        boolean absoluteRow = i < end && formula.charAt(i) == '$';
+        if (absoluteRow) {
+            i++;
+        }
+        int rowStart = i;
+        while (i < end && isDigit(formula.charAt(i))) {
+            i++;
+        }
+        if (columnEnd == columnStart || columnEnd - columnStart > 3 || rowStart == end || i != end || end - rowStart > 7) {
+            result.append(formula, start, end);
+            return;
+        }
+        int refColumn = XlsxSheetHandler.columnIndex(formula.substring(columnStart, columnEnd).toUpperCase()) + (absoluteColumn ? 0 : columnOffset);
+        int refRow = Integer.parseInt(formula.substring(rowStart, end)) - 1 + (absoluteRow ? 0 : rowOffset);
+        if (refColumn < 0 || refColumn > MAX_COLUMN || refRow < 0 || refRow > MAX_ROW) {
+            result.append("#REF!");
+            return;
+        }
+        if (absoluteColumn) {
+            result.append('$');
+        }
+        appendColumn(result, refColumn);
+        if (absoluteRow) {
+            result.append('$');
+        }
+        result.append(refRow + 1);
+    }
+
+    private static void appendColumn(StringBuilder result, int column) {
+        int start = result.length();
+        for (int col = column + 1; col > 0; col = (col - 1) / 26) {
+            result.insert(start, (char) ('A' + (col - 1) % 26));
+        }
+    }
+
+    private static boolean isNameChar(char c) {
+        return isLetter(c) || isDigit(c) || c == '$' || c == '_' || c == '.' || c == '\\';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
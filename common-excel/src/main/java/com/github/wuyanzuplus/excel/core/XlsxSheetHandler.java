@@ -0,0 +1,325 @@
+package com.github.wuyanzuplus.excel.core;
+
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * xlsx sheet的XML解析器（SAX推送或StAX拉取），逐行回调，单元格格式化结果与DOM方式（{@link CellValueFormatter#formatCell}）保持一致
+ * <pre>
+ *     首行的单元格数（或回调返回的列投影）决定了每行的列数，缺失的单元格以""填充，未投影的单元格不做格式化；
+ *     共享公式的其余单元格没有公式文本，按首个单元格的公式平移引用得到（{@link XlsxSharedFormula}）
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+final class XlsxSheetHandler extends DefaultHandler {
+
+    private static final String EMPTY = "";
+
+    private final SharedStrings sharedStrings;
+
+    private final CellValueFormatter formatter;
+
+    private final SheetRowCallback callback;
+
+    /**
+     * 最大行数（小于等于0时不限制）
+     */
+    private final int maxRows;
+
+    /**
+     * 列数，以首行或列投影为准（-1 表示首行尚未读取）
+     */
+    private int cellNum = -1;
+
+    /**
+     * sheet列下标 -> 输出列
+     */
+    private int[] slots;
+
+    /**
+     * 输出列 -> 是否按原始值读取（null表示全部格式化为文本）
+     */
+    private boolean[] raw;
+
+    private TypedRow typedRow;
+
+    private int nextRowNum;
+
+    private int rowNum;
+
+    private int nextColumn;
+
+    private List<String> firstRow;
+
+    private String[] rowData;
+
+    private int column;
+
+    private String cellType;
+
+    private String cellStyle;
+
+    private boolean hasValue;
+
+    private boolean hasFormula;
+
+    private boolean inValue;
+
+    private boolean inFormula;
+
+    private boolean inInlineText;
+
+    private boolean inPhonetic;
+
+    private final StringBuilder value = new StringBuilder();
+
+    private final StringBuilder formula = new StringBuilder();
+
+    /**
+     * 当前公式的共享公式下标（si），非共享公式为null
+     */
+    private String sharedIndex;
+
+    /**
+     * si -> 共享公式
+     */
+    private final Map<String, XlsxSharedFormula> sharedFormulas = new HashMap<>();
+
+    XlsxSheetHandler(SharedStrings sharedStrings, StylesTable stylesTable, SheetRowCallback callback, int maxRows) {
+        this.sharedStrings = sharedStrings;
+        this.formatter = CellValueFormatter.of(stylesTable);
+        this.callback = callback;
+        this.maxRows = maxRows;
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        startElement(localName, attributes::getValue);
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+        endElement(localName);
+    }
+
+    /**
+     * 元素开始（SAX与StAX共用）
+     *
+     * @param localName  元素名
+     * @param attributes 属性名 -> 属性值
+     */
+    void startElement(String localName, UnaryOperator<String> attributes) {
+        switch (localName) {
+            case "row":
+                String r = attributes.apply("r");
+                rowNum = r == null ? nextRowNum : Integer.parseInt(r) - 1;
+                WorkbookProbe.checkRow(rowNum, maxRows);
+                nextRowNum = rowNum + 1;
+                nextColumn = 0;
+                if (cellNum < 0) {
+                    firstRow = new ArrayList<>();
+                } else if (raw != null) {
+                    typedRow = new TypedRow(cellNum);
+                    rowData = typedRow.getTexts();
+                } else {
+                    rowData = new String[cellNum];
+                    Arrays.fill(rowData, EMPTY);
+                }
+                break;
+            case "c":
+                String ref = attributes.apply("r");
+                column = ref == null ? nextColumn : columnIndex(ref);
+                nextColumn = column + 1;
+                cellType = attributes.apply("t");
+                cellStyle = attributes.apply("s");
+                hasValue = false;
+                hasFormula = false;
+                value.setLength(0);
+                formula.setLength(0);
+                break;
+            case "v":
+                inValue = true;
+                hasValue = true;
+                break;
+            case "f":
+                inFormula = true;
+                hasFormula = true;
+                sharedIndex = "shared".equals(attributes.apply("t")) ? attributes.apply("si") : null;
+                break;
+            case "rPh":
+                inPhonetic = true;
+                break;
+            case "t":
+                inInlineText = !inPhonetic;
+                if (inInlineText) {
+                    hasValue = true;
+                }
+                break;
+            default:
+        }
+    }
+
+    /**
+     * 元素结束（SAX与StAX共用）
+     */
+    void endElement(String localName) {
+        switch (localName) {
+            case "v":
+                inValue = false;
+                break;
+            case "f":
+                inFormula = false;
+                if (sharedIndex != null) {
+                    resolveSharedFormula();
+                }
+                break;
+            case "rPh":
+                inPhonetic = false;
+                break;
+            case "t":
+                inInlineText = false;
+                break;
+            case "c":
+                setCell(column);
+                break;
+            case "row":
+                endRow();
+                break;
+            default:
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (inValue || inInlineText) {
+            value.append(ch, start, length);
+        } else if (inFormula) {
+            formula.append(ch, start, length);
+        }
+    }
+
+    /**
+     * 带公式文本的是共享公式的首个单元格，登记公式；否则按首个单元格的公式平移
+     */
+    private void resolveSharedFormula() {
+        if (formula.length() > 0) {
+            sharedFormulas.put(sharedIndex, new XlsxSharedFormula(formula.toString(), rowNum, column));
+            return;
+        }
+        XlsxSharedFormula shared = sharedFormulas.get(sharedIndex);
+        if (shared != null) {
+            formula.append(shared.formulaAt(rowNum, column));
+        }
+    }
+
+    private void setCell(int col) {
+        if (cellNum < 0) {
+            while (firstRow.size() <= col) {
+                firstRow.add(EMPTY);
+            }
+            firstRow.set(col, formatCell());
+            return;
+        }
+        int slot = ColumnProjection.slotOf(slots, col);
+        if (slot >= 0 && !(raw != null && raw[slot] && readRawCell(slot))) {
+            rowData[slot] = formatCell();
+        }
+    }
+
+    /**
+     * 数值/日期/布尔单元格保留原始值
+     *
+     * @return false: 其它单元格，需格式化为文本
+     */
+    private boolean readRawCell(int slot) {
+        if (hasFormula || !hasValue) {
+            return false;
+        }
+        if (cellType == null || "n".equals(cellType)) {
+            double number = Double.parseDouble(value.toString());
+            typedRow.setNumber(slot, number, formatter.isDate(number, cellStyle == null ? 0 : Integer.parseInt(cellStyle)));
+            return true;
+        }
+        if ("b".equals(cellType)) {
+            typedRow.setBoolean(slot, "1".equals(value.toString()));
+            return true;
+        }
+        return false;
+    }
+
+    private void endRow() {
+        if (cellNum < 0) {
+            rowData = firstRow.toArray(new String[0]);
+            firstRow = null;
+            int[] columns = callback.projectColumns(rowData);
+            if (columns == null) {
+                columns = ColumnProjection.identity(rowData.length);
+            }
+            cellNum = columns.length;
+            slots = ColumnProjection.toSlots(columns);
+            raw = TypedRowCallback.rawColumnsOf(callback);
+        }
+        if (typedRow != null) {
+            ((TypedRowCallback) callback).onRow(rowNum, typedRow);
+            typedRow = null;
+        } else {
+            callback.onRow(rowNum, rowData);
+        }
+        rowData = null;
+    }
+
+    /**
+     * 处理单元格格式，规则同CellValueFormatter#formatCell
+     */
+    private String formatCell() {
+        if (hasFormula) {
+            return formula.toString();
+        }
+        if (cellType == null || "n".equals(cellType)) {
+            if (!hasValue) {
+                return EMPTY;
+            }
+            String raw = value.toString();
+            return formatter.formatNumeric(Double.parseDouble(raw), raw, cellStyle == null ? 0 : Integer.parseInt(cellStyle));
+        }
+        switch (cellType) {
+            case "s":
+                return hasValue ? sharedStrings.getItemAt(Integer.parseInt(value.toString().trim())).getString() : EMPTY;
+            case "inlineStr":
+            case "str":
+                return value.toString();
+            case "b":
+                return String.valueOf(hasValue && "1".equals(value.toString()));
+            case "e":
+                return hasValue ? String.valueOf(FormulaError.forString(value.toString()).getCode()) : "0";
+            default:
+        }
+        return EMPTY;
+    }
+
+    /**
+     * 单元格引用转列下标，如 "B3" -> 1
+     */
+    static int columnIndex(String ref) {
+        int col = 0;
+        for (int i = 0, length = ref.length(); i < length; i++) {
+            char c = ref.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            col = col * 26 + (c - 'A' + 1);
+        }
+        return col - 1;
+    }
+}
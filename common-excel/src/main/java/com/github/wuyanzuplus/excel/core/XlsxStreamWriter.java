@@ -0,0 +1,425 @@
+package com.github.wuyanzuplus.excel.core;
+
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.ss.util.WorkbookUtil;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 直接写出xlsx（单个sheet）：按顺序将SpreadsheetML各部分写入ZipOutputStream，不使用POI对象模型，不产生临时文件
+ * <pre>
+ *     行数据编码到可复用的字节缓冲区，写满后交给ZipOutputStream压缩写出，首个字节在写入首行前即已输出，内存与行数无关；
+ *     文本写为内联字符串（不构建共享字符串表），数值/布尔单元格写原始值，格式（styles.xml）在结束时按使用到的格式生成；
+ *     用法：构造 -> startRow/write.../endRow（列下标在一行内递增） -> finish -> close；
+ *     未调用finish就close时不写出zip目录（输出为不完整的文件，便于客户端识别导出失败），不会关闭传入的输出流；非线程安全
+ * </pre>
+ *
+ * @author daniel.hu
+ */
+public final class XlsxStreamWriter implements Closeable {
+
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+    private static final String RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+
+    private static final String OFFICE_RELATIONSHIPS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    /**
+     * 自定义数字格式的起始编号（小于164的为内置格式）
+     */
+    private static final int FIRST_CUSTOM_FORMAT = 164;
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private final PartStream zip;
+
+    private final byte[] buffer = new byte[64 * 1024];
+
+    private int position;
+
+    /**
+     * 格式 -> 单元格格式下标（cellXfs，0为默认格式）
+     */
+    private final Map<String, Integer> styles = new LinkedHashMap<>();
+
+    /**
+     * 列下标 -> 列名（A、B...），按需生成
+     */
+    private byte[][] columnNames = new byte[16][];
+
+    private int rowNum;
+
+    /**
+     * 写出sheet之前的各部分
+     *
+     * @param out                输出流（如HttpServletResponse.getOutputStream()，不会被关闭）
+     * @param sheetName          sheet名称
+     * @param defaultColumnWidth 默认列宽（字符数，小于等于0时使用Excel默认值）
+     */
+    public XlsxStreamWriter(OutputStream out, String sheetName, int defaultColumnWidth) throws IOException {
+        WorkbookUtil.validateSheetName(sheetName);
+        this.zip = new PartStream(out);
+        putPart("[Content_Types].xml");
+        ascii(XML_DECLARATION);
+        ascii("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">");
+        ascii("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>");
+        ascii("<Default Extension=\"xml\" ContentType=\"application/xml\"/>");
+        ascii("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        ascii("<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        ascii("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        ascii("</Types>");
+
+        putPart("_rels/.rels");
+        ascii(XML_DECLARATION);
+        ascii("<Relationships xmlns=\"" + RELATIONSHIPS_NS + "\">");
+        ascii("<Relationship Id=\"rId1\" Type=\"" + OFFICE_RELATIONSHIPS + "/officeDocument\" Target=\"xl/workbook.xml\"/>");
+        ascii("</Relationships>");
+
+        putPart("xl/workbook.xml");
+        ascii(XML_DECLARATION);
+        ascii("<workbook xmlns=\"" + MAIN_NS + "\" xmlns:r=\"" + OFFICE_RELATIONSHIPS + "\"><sheets><sheet name=\"");
+        text(sheetName);
+        ascii("\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>");
+
+        putPart("xl/_rels/workbook.xml.rels");
+        ascii(XML_DECLARATION);
+        ascii("<Relationships xmlns=\"" + RELATIONSHIPS_NS + "\">");
+        ascii("<Relationship Id=\"rId1\" Type=\"" + OFFICE_RELATIONSHIPS + "/worksheet\" Target=\"worksheets/sheet1.xml\"/>");
+        ascii("<Relationship Id=\"rId2\" Type=\"" + OFFICE_RELATIONSHIPS + "/styles\" Target=\"styles.xml\"/>");
+        ascii("</Relationships>");
+
+        putPart("xl/worksheets/sheet1.xml");
+        ascii(XML_DECLARATION);
+        ascii("<worksheet xmlns=\"" + MAIN_NS + "\">");
+        if (defaultColumnWidth > 0) {
+            ascii("<sheetFormatPr baseColWidth=\"");
+            number(defaultColumnWidth);
+            ascii("\" defaultRowHeight=\"15\"/>");
+        }
+        ascii("<sheetData>");
+        flushBuffer();
+    }
+
+    /**
+     * 开始下一行（行号从1开始依次递增）
+     */
+    public void startRow() throws IOException {
+        ascii("<row r=\"");
+        number(++rowNum);
+        ascii("\">");
+    }
+
+    public void endRow() throws IOException {
+        ascii("</row>");
+    }
+
+    /**
+     * 文本单元格（内联字符串），null或空文本不写出
+     */
+    public void writeString(int column, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        startCell(column);
+        ascii(" t=\"inlineStr\"><is><t");
+        if (Character.isWhitespace(value.charAt(0)) || Character.isWhitespace(value.charAt(value.length() - 1))) {
+            ascii(" xml:space=\"preserve\"");
+        }
+        ascii(">");
+        text(value);
+        ascii("</t></is></c>");
+    }
+
+    /**
+     * 数值单元格（日期为Excel日期序列值），NaN/Infinity写为文本
+     *
+     * @param format 格式，如"0.00"、"yyyy-mm-dd"（null或"General"为常规）
+     */
+    public void writeNumber(int column, double value, String format) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            writeString(column, Double.toString(value));
+            return;
+        }
+        startCell(column);
+        int style = styleOf(format);
+        if (style > 0) {
+            ascii(" s=\"");
+            number(style);
+            ascii("\"");
+        }
+        ascii("><v>");
+        if (value == (long) value && Math.abs(value) < 1e15) {
+            number((long) value);
+        } else {
+            ascii(Double.toString(value));
+        }
+        ascii("</v></c>");
+    }
+
+    public void writeBoolean(int column, boolean value) throws IOException {
+        startCell(column);
+        ascii(value ? " t=\"b\"><v>1</v></c>" : " t=\"b\"><v>0</v></c>");
+    }
+
+    /**
+     * 结束sheet并写出styles.xml与zip目录
+     */
+    public void finish() throws IOException {
+        ascii("</sheetData></worksheet>");
+        writeStyles();
+        flushBuffer();
+        zip.closeEntry();
+        zip.finish();
+        zip.flush();
+    }
+
+    /**
+     * 释放压缩器（未finish时不写出zip目录）
+     */
+    @Override
+    public void close() {
+        zip.release();
+    }
+
+    private void writeStyles() throws IOException {
+        putPart("xl/styles.xml");
+        ascii(XML_DECLARATION);
+        ascii("<styleSheet xmlns=\"" + MAIN_NS + "\">");
+        int[] formatIds = new int[styles.size()];
+        int customFormats = 0;
+        int index = 0;
+        for (String format : styles.keySet()) {
+            int builtin = BuiltinFormats.getBuiltinFormat(format);
+            formatIds[index++] = builtin >= 0 ? builtin : FIRST_CUSTOM_FORMAT + customFormats++;
+        }
+        if (customFormats > 0) {
+            ascii("<numFmts count=\"");
+            number(customFormats);
+            ascii("\">");
+            index = 0;
+            for (String format : styles.keySet()) {
+                if (formatIds[index] >= FIRST_CUSTOM_FORMAT) {
+                    ascii("<numFmt numFmtId=\"");
+                    number(formatIds[index]);
+                    ascii("\" formatCode=\"");
+                    text(format);
+                    ascii("\"/>");
+                }
+                index++;
+            }
+            ascii("</numFmts>");
+        }
+        ascii("<fonts count=\"1\"><font><sz val=\"11\"/><name val=\"Calibri\"/><family val=\"2\"/></font></fonts>");
+        ascii("<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill><fill><patternFill patternType=\"gray125\"/></fill></fills>");
+        ascii("<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>");
+        ascii("<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>");
+        ascii("<cellXfs count=\"");
+        number(styles.size() + 1);
+        ascii("\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>");
+        for (int formatId : formatIds) {
+            ascii("<xf numFmtId=\"");
+            number(formatId);
+            ascii("\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>");
+        }
+        ascii("</cellXfs>");
+        ascii("<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>");
+        ascii("</styleSheet>");
+    }
+
+    /**
+     * @return 单元格格式下标，常规格式返回0
+     */
+    private int styleOf(String format) {
+        if (format == null || BuiltinFormats.getBuiltinFormat(0).equals(format)) {
+            return 0;
+        }
+        Integer style = styles.get(format);
+        if (style == null) {
+            style = styles.size() + 1;
+            styles.put(format, style);
+        }
+        return style;
+    }
+
+    private void startCell(int column) throws IOException {
+        ascii("<c r=\"");
+        bytes(columnName(column));
+        number(rowNum);
+        ascii("\"");
+    }
+
+    private byte[] columnName(int column) {
+        if (column >= columnNames.length) {
+            byte[][] names = new byte[Math.max(column + 1, columnNames.length * 2)][];
+            System.arraycopy(columnNames, 0, names, 0, columnNames.length);
+            columnNames = names;
+        }
+        byte[] name = columnNames[column];
+        if (name == null) {
+            name = CellReference.convertNumToColString(column).getBytes(StandardCharsets.US_ASCII);
+            columnNames[column] = name;
+        }
+        return name;
+    }
+
+    private void putPart(String name) throws IOException {
+        flushBuffer();
+        zip.putNextEntry(new ZipEntry(name));
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            zip.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private void ensure(int length) throws IOException {
+        if (position + length > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    /**
+     * 写入ASCII常量（不转义）
+     */
+    private void ascii(String value) throws IOException {
+        int length = value.length();
+        for (int from = 0; from < length; ) {
+            ensure(1);
+            int to = Math.min(length, from + buffer.length - position);
+            for (int i = from; i < to; i++) {
+                buffer[position++] = (byte) value.charAt(i);
+            }
+            from = to;
+        }
+    }
+
+    private void bytes(byte[] value) throws IOException {
+        ensure(value.length);
+        System.arraycopy(value, 0, buffer, position, value.length);
+        position += value.length;
+    }
+
+    private void number(long value) throws IOException {
+        ensure(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int start = position;
+        do {
+            buffer[position++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        for (int i = start, j = position - 1; i < j; i++, j--) {
+            byte digit = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = digit;
+        }
+    }
+
+    /**
+     * 写入文本：XML转义后按UTF-8编码，XML不允许的控制字符按OOXML规则写为_xHHHH_
+     */
+    private void text(String value) throws IOException {
+        for (int i = 0, length = value.length(); i < length; i++) {
+            ensure(8);
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                switch (c) {
+                    case '<':
+                        ascii("&lt;");
+                        break;
+                    case '>':
+                        ascii("&gt;");
+                        break;
+                    case '&':
+                        ascii("&amp;");
+                        break;
+                    case '"':
+                        ascii("&quot;");
+                        break;
+                    case '\t':
+                    case '\n':
+                    case '\r':
+                        buffer[position++] = (byte) c;
+                        break;
+                    default:
+                        if (c < 0x20 || c == '_' && isEscapeLike(value, i)) {
+                            escape(c);
+                        } else {
+                            buffer[position++] = (byte) c;
+                        }
+                }
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | c >> 6);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+                buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c) || c == 0xFFFE || c == 0xFFFF) {
+                escape(c);
+            } else {
+                buffer[position++] = (byte) (0xE0 | c >> 12);
+                buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+    }
+
+    /**
+     * 文本中形如_xHHHH_的内容会被Excel解码，需转义其中的_
+     */
+    private static boolean isEscapeLike(String value, int i) {
+        if (i + 6 >= value.length() || value.charAt(i + 1) != 'x' || value.charAt(i + 6) != '_') {
+            return false;
+        }
+        for (int j = i + 2; j < i + 6; j++) {
+            if (Character.digit(value.charAt(j), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void escape(char c) {
+        buffer[position++] = '_';
+        buffer[position++] = 'x';
+        buffer[position++] = HEX[c >> 12 & 0xF];
+        buffer[position++] = HEX[c >> 8 & 0xF];
+        buffer[position++] = HEX[c >> 4 & 0xF];
+        buffer[position++] = HEX[c & 0xF];
+        buffer[position++] = '_';
+    }
+
+    /**
+     * 不关闭底层输出流的ZipOutputStream
+     */
+    private static final class PartStream extends ZipOutputStream {
+
+        PartStream(OutputStream out) {
+            super(out, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * 释放Deflater（不写出zip目录、不关闭底层输出流）
+         */
+        void release() {
+            def.end();
+        }
+    }
+}
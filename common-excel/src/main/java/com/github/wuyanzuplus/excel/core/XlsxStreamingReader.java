@@ -0,0 +1,196 @@
+package com.github.wuyanzuplus.excel.core;
+
+import lombok.SneakyThrows;
+import org.apache.poi.ooxml.util.SAXHelper;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * 基于POI事件模型（XSSFReader + SAX）的xlsx流式读取，不构建XSSFWorkbook，内存占用与行数无关
+ *
+ * @author daniel.hu
+ */
+final class XlsxStreamingReader {
+
+    private XlsxStreamingReader() {
+    }
+
+    /**
+     * 流式读取xlsx
+     * <pre>
+     *     {@link ExcelReadOptions#isParallelSheets()}为true时各sheet在pool中并发解析：sheet流与行回调按sheet顺序在调用线程中获取，
+     *     共享字符串表与样式表只读共享，每个sheet的回调只在一个线程中执行
+     * </pre>
+     *
+     * @param pkg            xlsx文件（读取结束后释放）
+     * @param firstSheetOnly 是否只读取首个sheet页
+     * @param callbacks      sheet名称 -> 该sheet的行回调
+     * @param options        读取配置
+     */
+    @SneakyThrows
+    static void read(OPCPackage pkg, boolean firstSheetOnly, Function<String, SheetRowCallback> callbacks, ExcelReadOptions options) {
+        ForkJoinPool pool = options.isParallelSheets() && !firstSheetOnly ? options.parallelPoolOrCommon() : null;
+        SharedStrings sharedStrings = null;
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            sharedStrings = sharedStrings(pkg, options);
+            readSheets(reader, sharedStrings, firstSheetOnly, callbacks, pool, options.getMaxRows());
+        } finally {
+            closeQuietly(sharedStrings);
+            pkg.revert();
+        }
+    }
+
+    private static void readSheets(XSSFReader reader, SharedStrings sharedStrings, boolean firstSheetOnly, Function<String, SheetRowCallback> callbacks, ForkJoinPool pool, int maxRows) throws Throwable {
+        StylesTable stylesTable = reader.getStylesTable();
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        while (sheets.hasNext()) {
+            InputStream sheet = sheets.next();
+            SheetRowCallback callback = callbacks.apply(sheets.getSheetName());
+            if (pool == null) {
+                parse(sheet, sharedStrings, stylesTable, callback, maxRows);
+            } else {
+                tasks.add(() -> {
+                    parse(sheet, sharedStrings, stylesTable, callback, maxRows);
+                    return null;
+                });
+            }
+            if (firstSheetOnly) {
+                break;
+            }
+        }
+        if (!tasks.isEmpty()) {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw e.getCause();
+                }
+            }
+        }
+    }
+
+    /**
+     * 共享字符串表：{@link ExcelReadOptions#isSpillSharedStrings()}为true时写入临时文件，否则全部保存在堆中
+     */
+    private static SharedStrings sharedStrings(OPCPackage pkg, ExcelReadOptions options) throws IOException, SAXException {
+        if (options.isSpillSharedStrings()) {
+            return new DiskSharedStringsTable(pkg, options.getSharedStringsCacheSize());
+        }
+        return new ReadOnlySharedStringsTable(pkg, false);
+    }
+
+    static void closeQuietly(SharedStrings sharedStrings) {
+        if (sharedStrings instanceof Closeable) {
+            IOUtils.closeQuietly((Closeable) sharedStrings);
+        }
+    }
+
+    @SneakyThrows
+    private static void parse(InputStream sheet, SharedStrings sharedStrings, StylesTable stylesTable, SheetRowCallback callback, int maxRows) {
+        try (InputStream in = sheet) {
+            XMLReader parser = SAXHelper.newXMLReader();
+            parser.setContentHandler(new XlsxSheetHandler(sharedStrings, stylesTable, callback, maxRows));
+            parser.parse(new InputSource(in));
+        }
+    }
+
+    /**
+     * 预检：只读取sheet名称、首个sheet页的dimension与标题行，共享字符串表只解析到标题引用的位置
+     *
+     * @param pkg      xlsx文件（读取结束后释放）
+     * @param handlers 枚举值（all）
+     */
+    @SneakyThrows
+    static ExcelProbeResult probe(OPCPackage pkg, ExcelHandler[] handlers) {
+        List<String> sheetNames = new ArrayList<>();
+        LazySharedStringsTable sharedStrings = null;
+        XlsxRowIterator rows = null;
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                InputStream sheet = sheets.next();
+                sheetNames.add(sheets.getSheetName());
+                if (rows == null) {
+                    sharedStrings = new LazySharedStringsTable(pkg);
+                    rows = new XlsxRowIterator(pkg, sharedStrings, reader.getStylesTable(), sheet, titles -> null, 0);
+                } else {
+                    sheet.close();
+                }
+            }
+            if (rows == null) {
+                return new ExcelProbeResult(sheetNames, new String[0], 0, handlers);
+            }
+            String[] titles = rows.hasNext() ? rows.next() : new String[0];
+            return new ExcelProbeResult(sheetNames, titles, rowCountOf(rows.getDimension()), handlers);
+        } finally {
+            if (rows != null) {
+                rows.close();
+            } else {
+                closeQuietly(sharedStrings);
+                pkg.revert();
+            }
+        }
+    }
+
+    private static int rowCountOf(String dimension) {
+        if (dimension == null) {
+            return -1;
+        }
+        try {
+            return CellRangeAddress.valueOf(dimension).getLastRow() + 1;
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 打开首个sheet页的行迭代器（按需解析），迭代器关闭时释放文件
+     *
+     * @param pkg       xlsx文件（迭代器关闭时释放）
+     * @param options   读取配置
+     * @param projector 标题行 -> 列投影（同{@link SheetRowCallback#projectColumns}）
+     */
+    @SneakyThrows
+    static SheetRowIterator openFirstSheet(OPCPackage pkg, ExcelReadOptions options, Function<String[], int[]> projector) {
+        SharedStrings sharedStrings = null;
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            sharedStrings = sharedStrings(pkg, options);
+            StylesTable stylesTable = reader.getStylesTable();
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                closeQuietly(sharedStrings);
+                pkg.revert();
+                return EmptySheetRowIterator.INSTANCE;
+            }
+            return new XlsxRowIterator(pkg, sharedStrings, stylesTable, sheets.next(), projector, options.getMaxRows());
+        } catch (Exception e) {
+            closeQuietly(sharedStrings);
+            pkg.revert();
+            throw e;
+        }
+    }
+}
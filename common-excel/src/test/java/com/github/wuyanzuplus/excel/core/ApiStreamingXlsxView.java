@@ -0,0 +1,13 @@
+package com.github.wuyanzuplus.excel.core;
+
+/**
+ * @author daniel.hu
+ */
+@SuppressWarnings("squid:MaximumInheritanceDepth")
+class ApiStreamingXlsxView extends ExcelStreamingBaseView<ApiEntity> {
+
+    public ApiStreamingXlsxView() {
+        super("接口导出", "接口数据", ApiTemplateEnum.values(), 2, true);
+    }
+
+}
@@ -15,20 +15,7 @@ public enum ApiTemplateEnum implements ExcelHandler {
     API_NAME("接口名称", "apiName", true, 30),
     API_CODE("接口编码", "apiCode", true, 100),
     API_URL("接口地址", "apiUrl", true, 500),
-    API_PLATFORM("资源属性", "apiPlatform", true, 10, val -> {
-        try {
-            Platform.valueOf(val);
-        } catch (IllegalArgumentException e) {
-            return ExcelImportErrorEnum.CONTENT_BEYOND_RANGE.name();
-        }
-        return null;
-    }, (ValueImportResolver<Platform>) val -> {
-        try {
-            return Platform.valueOf(val);
-        } catch (IllegalArgumentException e) {
-            return null;
-        }
-    }, val -> val == null ? "" : val.toString());
+    API_PLATFORM("资源属性", "apiPlatform", true, 10, EnumValueResolver.of(Platform.class), EnumValueResolver.of(Platform.class), EnumValueResolver.of(Platform.class));
 
     /**
      * 标题名称
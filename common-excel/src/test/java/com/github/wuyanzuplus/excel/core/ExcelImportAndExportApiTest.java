@@ -1,18 +1,34 @@
 package com.github.wuyanzuplus.excel.core;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.streaming.SXSSFRow;
 import org.apache.poi.xssf.streaming.SXSSFSheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockMultipartFile;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -104,6 +120,242 @@ public class ExcelImportAndExportApiTest {
         assertThat(row2.getCell(4).toString()).isEqualTo("系统");
     }
 
+    @Test
+    public void 导出_父类字段_success() throws Exception {
+        ExcelUtilTest.SubApiEntity api = new ExcelUtilTest.SubApiEntity();
+        api.setProject("会员");
+        api.setApiPlatform(Platform.运营);
+        Map<String, Object> map = new HashMap<>();
+        map.put("data", Collections.singletonList(api));
+        SXSSFWorkbook workbook = new SXSSFWorkbook();
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        Mockito.when(request.getHeader("User-Agent")).thenReturn("Mozilla/5.0");
+
+        view.buildExcelDocument(map, workbook, request, response);
+
+        SXSSFRow row2 = workbook.getSheetAt(0).getRow(1);
+        assertThat(row2.getCell(0).toString()).isEqualTo("会员");
+        assertThat(row2.getCell(1).toString()).isEqualTo("");
+        assertThat(row2.getCell(4).toString()).isEqualTo("运营");
+    }
+
+    @Test
+    public void 导出_流式视图_success() throws Exception {
+        Map<String, Object> map = new HashMap<>();
+        map.put("data", getInitApiExportList());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("User-Agent", "Mozilla/5.0");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ApiStreamingXlsxView().render(map, request, response);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            Sheet sheet1 = workbook.getSheetAt(0);
+            assertThat(sheet1.getSheetName()).isEqualTo("接口数据");
+            assertThat(sheet1.getLastRowNum()).isEqualTo(3);
+            assertThat(sheet1.getRow(0).getCell(0).toString()).isEqualTo(ApiTemplateEnum.PROJECT.getTitleName());
+            assertThat(sheet1.getRow(3).getCell(1).toString()).isEqualTo("api3");
+            assertThat(sheet1.getRow(3).getCell(4).toString()).isEqualTo("租户");
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void 导出_类型化单元格_success() throws Exception {
+        ExcelUtilTest.OrderEntity order = new ExcelUtilTest.OrderEntity();
+        order.setQuantity(3);
+        order.setAmount(new BigDecimal("1234.5"));
+        order.setOrderDate(LocalDate.of(2018, 1, 2));
+        order.setPaid(true);
+        order.setSerialNo(123456789012L);
+        order.setRate(0.125);
+        Map<String, Object> map = new HashMap<>();
+        map.put(ExcelUtil.EXCEL_EXPORT_DATA_KEY, Arrays.asList(order, order));
+        ExcelHandler[] handlers = ExcelUtilTest.OrderTemplate.values();
+        ExcelBaseView<ExcelUtilTest.OrderEntity>[] views = new ExcelBaseView[]{
+                new ExcelBaseView<ExcelUtilTest.OrderEntity>("订单导出", "订单", handlers) {
+                },
+                new ExcelStreamingBaseView<ExcelUtilTest.OrderEntity>("订单导出", "订单", handlers, 100, false) {
+                },
+                new ExcelDirectBaseView<ExcelUtilTest.OrderEntity>("订单导出", "订单", handlers) {
+                },
+        };
+        for (ExcelBaseView<ExcelUtilTest.OrderEntity> orderView : views) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader("User-Agent", "Mozilla/5.0");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            orderView.render(map, request, response);
+            byte[] bytes = response.getContentAsByteArray();
+
+            try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(bytes))) {
+                Sheet sheet = workbook.getSheetAt(0);
+                Row row = sheet.getRow(1);
+                assertThat(row.getCell(0).getCellType()).isEqualTo(CellType.NUMERIC);
+                assertThat(row.getCell(0).getNumericCellValue()).isEqualTo(3);
+                assertThat(row.getCell(1).getCellStyle().getDataFormatString()).isEqualTo("#,##0.00");
+                assertThat(row.getCell(2).getCellStyle().getDataFormatString()).isEqualTo("yyyy-mm-dd");
+                assertThat(row.getCell(3).getCellType()).isEqualTo(CellType.BOOLEAN);
+                // 同一格式共用一个CellStyle：默认样式 + 金额 + 日期
+                assertThat(sheet.getRow(2).getCell(1).getCellStyle().getIndex()).isEqualTo(row.getCell(1).getCellStyle().getIndex());
+                assertThat(workbook.getNumCellStyles()).isEqualTo(3);
+                // 数据不进入共享字符串表，流式视图与直接写出视图的标题也写为内联字符串
+                boolean inlineStrings = orderView instanceof ExcelStreamingBaseView || orderView instanceof ExcelDirectBaseView;
+                int sharedStrings = inlineStrings ? 0 : handlers.length;
+                assertThat(workbook.getSharedStringSource().getUniqueCount()).isEqualTo(sharedStrings);
+            }
+
+            MockMultipartFile file = new MockMultipartFile("file", "订单.xlsx", "multipart/form-data", bytes);
+            List<ExcelUtilTest.OrderEntity> orders = ExcelUtil.parseExcel(file, handlers, ExcelUtilTest.OrderEntity.class);
+            assertThat(orders).hasSize(2);
+            assertThat(orders.get(0))
+                    .hasFieldOrPropertyWithValue("quantity", 3)
+                    .hasFieldOrPropertyWithValue("orderDate", LocalDate.of(2018, 1, 2))
+                    .hasFieldOrPropertyWithValue("paid", true)
+                    .hasFieldOrPropertyWithValue("serialNo", 123456789012L)
+                    .hasFieldOrPropertyWithValue("rate", 12.5);
+            assertThat(orders.get(0).getAmount()).isEqualByComparingTo("1234.5");
+        }
+    }
+
+    @Test
+    public void 导出_覆盖setRow的视图切换父类_success() throws Exception {
+        ExcelUtilTest.OrderEntity order = new ExcelUtilTest.OrderEntity();
+        order.setAmount(new BigDecimal("1234.5"));
+        Map<String, Object> map = new HashMap<>();
+        map.put(ExcelUtil.EXCEL_EXPORT_DATA_KEY, Collections.singletonList(order));
+        ExcelHandler[] handlers = ExcelUtilTest.OrderTemplate.values();
+        ExcelBaseView<ExcelUtilTest.OrderEntity>[] views = new ExcelBaseView[]{
+                new ExcelBaseView<ExcelUtilTest.OrderEntity>("订单导出", "订单", handlers) {
+                    @Override
+                    protected void setRow(Row row, ExcelUtilTest.OrderEntity datum) {
+                        super.setRow(row, datum);
+                        row.createCell(handlers.length).setCellValue("备注");
+                    }
+                },
+                new ExcelStreamingBaseView<ExcelUtilTest.OrderEntity>("订单导出", "订单", handlers, 100, false) {
+                    @Override
+                    protected void setRow(Row row, ExcelUtilTest.OrderEntity datum) {
+                        super.setRow(row, datum);
+                        row.createCell(handlers.length).setCellValue("备注");
+                    }
+                },
+        };
+        for (ExcelBaseView<ExcelUtilTest.OrderEntity> orderView : views) {
+            // 同一个视图渲染两次，每次都使用新workbook的CellStyle
+            for (int i = 0; i < 2; i++) {
+                MockHttpServletRequest request = new MockHttpServletRequest();
+                request.addHeader("User-Agent", "Mozilla/5.0");
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                orderView.render(map, request, response);
+                try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+                    Row row = workbook.getSheetAt(0).getRow(1);
+                    assertThat(row.getCell(handlers.length).getStringCellValue()).isEqualTo("备注");
+                    assertThat(row.getCell(1).getCellStyle().getDataFormatString()).isEqualTo("#,##0.00");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void 导出_数据缺失或类型不支持_error() {
+        ExcelBaseView<ApiEntity> view = new ExcelBaseView<ApiEntity>("接口导出", "接口", ApiTemplateEnum.values()) {
+        };
+        for (Object data : new Object[]{null, new ApiEntity[0], Collections.singletonMap("content", Collections.emptyList())}) {
+            Map<String, Object> map = new HashMap<>();
+            map.put(ExcelUtil.EXCEL_EXPORT_DATA_KEY, data);
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader("User-Agent", "Mozilla/5.0");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> view.render(map, request, response));
+            assertThat(e.getMessage()).contains(data == null ? "null" : data.getClass().getName());
+            assertThat(response.getContentAsByteArray()).isEmpty();
+        }
+    }
+
+    @Test
+    public void 导出_直接写出视图不调用setRow_创建时失败() {
+        ApiTemplateEnum[] handlers = ApiTemplateEnum.values();
+        assertThrows(IllegalStateException.class, () -> new ExcelDirectBaseView<ApiEntity>("接口导出", "接口数据", handlers) {
+            @Override
+            protected void setRow(Row row, ApiEntity datum) {
+                super.setRow(row, datum);
+            }
+        });
+        assertThrows(IllegalStateException.class, () -> new ExcelDirectBaseView<ApiEntity>("接口导出", "接口数据", handlers) {
+            @Override
+            protected void setTitle(Row row) {
+                super.setTitle(row);
+            }
+        });
+    }
+
+    @Test
+    public void 导出_直接写出到响应_success() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("User-Agent", "Mozilla/5.0");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<ApiEntity> apis = new ArrayList<>(getInitApiExportList());
+        apis.add(newApi(Platform.运营, " <a&b> \"c\" ", "_x0041_\u0001", true, "表情😀", "/abc/def4"));
+        List<Integer> writtenBeforePage = new ArrayList<>();
+        Iterator<ApiEntity> iterator = apis.iterator();
+        ExportDataSource<ApiEntity> dataSource = () -> {
+            writtenBeforePage.add(response.getContentAsByteArray().length);
+            return iterator.hasNext() ? Collections.singletonList(iterator.next()) : Collections.emptyList();
+        };
+        Map<String, Object> map = new HashMap<>();
+        map.put(ExcelUtil.EXCEL_EXPORT_DATA_KEY, dataSource);
+
+        new ExcelDirectBaseView<ApiEntity>("接口导出", "接口数据", ApiTemplateEnum.values()) {
+        }.render(map, request, response);
+
+        // 读取数据前已开始写出
+        assertThat(writtenBeforePage.get(0)).isPositive();
+        assertThat(response.getContentType()).isEqualTo("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        assertThat(response.getHeader("Content-Disposition")).contains(".xlsx");
+        byte[] bytes = response.getContentAsByteArray();
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(bytes))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getSheetName()).isEqualTo("接口数据");
+            assertThat(sheet.getLastRowNum()).isEqualTo(4);
+            assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo(ApiTemplateEnum.PROJECT.getTitleName());
+            assertThat(sheet.getRow(3).getCell(4).getStringCellValue()).isEqualTo("租户");
+            Row row = sheet.getRow(4);
+            assertThat(row.getCell(0).getStringCellValue()).isEqualTo("表情😀");
+            assertThat(row.getCell(1).getStringCellValue()).isEqualTo(" <a&b> \"c\" ");
+            assertThat(row.getCell(2).getStringCellValue()).isEqualTo("_x0041_\u0001");
+        }
+        // 与其它视图的导出结果一样可以导入
+        MockMultipartFile file = new MockMultipartFile("file", "接口导出.xlsx", "multipart/form-data", bytes);
+        assertThat(ExcelUtil.parseExcel(file, ApiTemplateEnum.values(), ApiEntity.class))
+                .extracting(ApiEntity::getApiName).containsExactly("api1", "api2", "api3", " <a&b> \"c\" ");
+    }
+
+    @Test
+    public void 导出_分页数据源_success() throws Exception {
+        List<ApiEntity> apis = getInitApiExportList();
+        List<Integer> lastIds = new ArrayList<>();
+        ExportDataSource<ApiEntity> dataSource = ExportDataSource.<ApiEntity, Integer>keyset((lastId, pageSize) -> {
+            lastIds.add(lastId);
+            int from = lastId == null ? 0 : lastId + 1;
+            return apis.subList(Math.min(from, apis.size()), Math.min(from + pageSize, apis.size()));
+        }, apis::indexOf, 2);
+        Map<String, Object> map = new HashMap<>();
+        map.put(ExcelUtil.EXCEL_EXPORT_DATA_KEY, dataSource);
+        SXSSFWorkbook workbook = new SXSSFWorkbook();
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        Mockito.when(request.getHeader("User-Agent")).thenReturn("Mozilla/5.0");
+
+        view.buildExcelDocument(map, workbook, request, response);
+
+        SXSSFSheet sheet1 = workbook.getSheetAt(0);
+        assertThat(sheet1.getRow(1).getCell(1).toString()).isEqualTo("api1");
+        assertThat(sheet1.getRow(3).getCell(1).toString()).isEqualTo("api3");
+        assertNull(sheet1.getRow(4));
+        assertThat(lastIds).containsExactly(null, 1);
+    }
+
     @Test
     public void 导入_空数据_error() throws IOException {
         MockMultipartFile file = new MockMultipartFile("file", "资源导入模板_空数据.xlsx", "multipart/form-data", Object.class.getResourceAsStream("/资源导入模板_空数据.xlsx"));
@@ -155,4 +407,290 @@ public class ExcelImportAndExportApiTest {
         System.out.println(errorMap);
 
     }
+
+    @Test
+    public void 导入_逐行回调_success() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "资源导入模板_内容异常.xlsx", "multipart/form-data", Object.class.getResourceAsStream("/资源导入模板_内容异常.xlsx"));
+        Map<String, List<String>> errorMap = new HashMap<>();
+        List<ApiEntity> entities = new ArrayList<>();
+        ExcelUtil.<ApiEntity>parseExcel(file, ApiTemplateEnum.values(), ApiEntity.class, errorMap, entities::add);
+
+        assertEquals(1, entities.size());
+        assertThat(entities.get(0)).hasFieldOrPropertyWithValue("apiCode", "code2");
+        assertEquals(2, errorMap.keySet().size());
+    }
+
+    @Test
+    public void 导入_惰性Stream_success() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "资源导入模板_正常.xlsx", "multipart/form-data", Object.class.getResourceAsStream("/资源导入模板_正常.xlsx"));
+        try (Stream<ApiEntity> stream = ExcelUtil.streamExcel(file, ApiTemplateEnum.values(), ApiEntity.class, null)) {
+            Iterator<ApiEntity> iterator = stream.iterator();
+            assertThat(iterator.next()).hasFieldOrPropertyWithValue("apiCode", "code1");
+            assertThat(iterator.next()).hasFieldOrPropertyWithValue("apiCode", "code2");
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    @Test
+    public void 导入_批量消费_success() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "资源导入模板_正常.xlsx", "multipart/form-data", Object.class.getResourceAsStream("/资源导入模板_正常.xlsx"));
+        ExcelReadOptions options = ExcelReadOptions.builder().batchSize(1).batchQueueCapacity(1).build();
+        List<List<ApiEntity>> batches = new ArrayList<>();
+        ExcelUtil.parseExcelInBatches(file, ApiTemplateEnum.values(), ApiEntity.class, null, true, options, batches::add);
+
+        assertEquals(2, batches.size());
+        assertThat(batches.get(0).get(0)).hasFieldOrPropertyWithValue("apiCode", "code1");
+        assertThat(batches.get(1).get(0)).hasFieldOrPropertyWithValue("apiCode", "code2");
+    }
+
+    @Test
+    public void 导入_批量消费者中途失败_等待解析线程结束() throws Exception {
+        MockMultipartFile file = createApiFile(2000);
+        ExcelReadOptions options = ExcelReadOptions.builder().batchSize(10).batchQueueCapacity(1).build();
+        // 消费者失败时解析线程正在写入errorMap（写入耗时100ms）
+        AtomicBoolean failing = new AtomicBoolean();
+        CountDownLatch writing = new CountDownLatch(1);
+        Map<String, List<String>> errorMap = new HashMap<String, List<String>>() {
+            @Override
+            public List<String> get(Object key) {
+                if (failing.get()) {
+                    writing.countDown();
+                    sleep(100);
+                }
+                return super.get(key);
+            }
+        };
+        try {
+            ExcelUtil.parseExcelInBatches(file, ApiTemplateEnum.values(), ApiEntity.class, errorMap, true, options, batch -> {
+                failing.set(true);
+                await(writing);
+                throw new IllegalStateException("保存失败");
+            });
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("保存失败", e.getMessage());
+        }
+        // 异常抛出前解析线程已停止，之后不再写入errorMap
+        int errors = errorMap.values().stream().mapToInt(List::size).sum();
+        Thread.sleep(300);
+        assertThat(errorMap.values().stream().mapToInt(List::size).sum()).isEqualTo(errors);
+        // 只解析到管道关闭为止，没有读取整个文件
+        assertThat(errors).isLessThan(2000 / 11 + 2000 / 7);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void 导入_批量消费标题错误_error() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "资源导入模板_标题错误.xlsx", "multipart/form-data", Object.class.getResourceAsStream("/资源导入模板_标题错误.xlsx"));
+        try {
+            ExcelUtil.parseExcelInBatches(file, ApiTemplateEnum.values(), ApiEntity.class, null, batch -> fail());
+            fail();
+        } catch (ExcelResolvingException e) {
+            assertEquals(ExcelImportErrorEnum.FILE_TITLE_ERROR.getValue(), e.getMessage());
+        }
+    }
+
+    @Test
+    public void 导入_并行校验转换_与逐行一致() throws IOException {
+        ApiTemplateEnum[] handlers = ApiTemplateEnum.values();
+        MockMultipartFile file = createApiFile(1000);
+
+        Map<String, List<String>> expectedErrors = new HashMap<>();
+        List<ApiEntity> expected = ExcelUtil.parseExcel(file, handlers, ApiEntity.class, expectedErrors);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ExcelReadOptions options = ExcelReadOptions.builder().parallel(true).parallelBlockSize(300).parallelPool(pool).build();
+            Map<String, List<String>> actualErrors = new HashMap<>();
+            List<ApiEntity> actual = ExcelUtil.parseExcel(file, handlers, ApiEntity.class, actualErrors, true, options);
+
+            assertEquals(expectedErrors, actualErrors);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getApiCode(), actual.get(i).getApiCode());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void 导入_多sheet按配置解析_success() throws IOException {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        ApiTemplateEnum[] handlers = ApiTemplateEnum.values();
+        for (String sheetName : new String[]{"忽略", "接口A", "接口B"}) {
+            Sheet sheet = workbook.createSheet(sheetName);
+            Row title = sheet.createRow(0);
+            for (int i = 0; i < handlers.length; i++) {
+                title.createCell(i).setCellValue(handlers[i].getTitleName());
+            }
+            Row row = sheet.createRow(1);
+            row.createCell(0).setCellValue("权限管理");
+            row.createCell(1).setCellValue(sheetName);
+            row.createCell(2).setCellValue(sheetName + "-code");
+            row.createCell(3).setCellValue("/api");
+            row.createCell(4).setCellValue("接口B".equals(sheetName) ? "未知" : "租户");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        MockMultipartFile file = new MockMultipartFile("file", "多sheet.xlsx", "multipart/form-data", out.toByteArray());
+
+        Map<String, List<String>> errorMapB = new HashMap<>();
+        Map<String, ExcelSheetMapping<?>> mappings = new HashMap<>();
+        mappings.put("接口B", ExcelSheetMapping.of(handlers, ApiEntity.class, errorMapB));
+        mappings.put("接口A", ExcelSheetMapping.of(handlers, ApiEntity.class));
+        Map<String, List<?>> result = ExcelUtil.parseExcelWithAllSheet(file, mappings, ExcelReadOptions.builder().parallelSheets(true).build());
+
+        assertThat(result.keySet()).containsExactly("接口A", "接口B");
+        assertThat(result.get("接口A")).hasSize(1);
+        assertThat(result.get("接口A").get(0)).hasFieldOrPropertyWithValue("apiCode", "接口A-code");
+        assertThat(result.get("接口B")).isEmpty();
+        assertEquals(Collections.singletonList("E2"), errorMapB.get(ExcelImportErrorEnum.CONTENT_BEYOND_RANGE.name()));
+    }
+
+    @Test
+    public void 导入_错误收集器_success() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "资源导入模板_内容异常.xlsx", "multipart/form-data", Object.class.getResourceAsStream("/资源导入模板_内容异常.xlsx"));
+        Map<String, List<String>> errorMap = new HashMap<>();
+        ExcelUtil.parseExcel(file, ApiTemplateEnum.values(), ApiEntity.class, errorMap);
+        ImportErrorCollector errors = new ImportErrorCollector();
+        List<ApiEntity> entities = ExcelUtil.parseExcel(file, ApiTemplateEnum.values(), ApiEntity.class, errors);
+
+        assertEquals(1, entities.size());
+        assertEquals(errorMap, errors.toErrorMap());
+        assertEquals(errors.getCoordinates(0), ExcelUtil.convertToCellName(errors.getRowNum(0) + 1, errors.getColNum(0) + 1));
+    }
+
+    @Test
+    public void 导入_错误数达到上限_停止解析() throws IOException {
+        MockMultipartFile file = createApiFile(1000);
+        ImportErrorCollector errors = new ImportErrorCollector();
+        List<ApiEntity> entities = new ArrayList<>();
+        ExcelReadOptions options = ExcelReadOptions.builder().maxErrors(10).build();
+        try {
+            ExcelUtil.parseExcel(file, ApiTemplateEnum.values(), ApiEntity.class, errors, true, options, entities::add);
+            fail();
+        } catch (ExcelResolvingException e) {
+            assertEquals(ExcelImportErrorEnum.TOO_MANY_ERRORS.getValue(), e.getMessage());
+        }
+        assertEquals(10, errors.size());
+        // 第10个错误在第44个数据行（7、11、14、21、22、28、33、35、42、44）的项目名
+        assertEquals("A45", errors.getCoordinates(9));
+        assertThat(entities.size()).isLessThan(44);
+    }
+
+    @Test
+    public void 导入_标题按名称匹配列_success() throws IOException {
+        String[] titles = {"备注", "资源属性", "接口地址", "接口名称", "项目名", "接口编码", "负责人"};
+        for (boolean xls : new boolean[]{false, true}) {
+            Workbook workbook = xls ? new HSSFWorkbook() : new XSSFWorkbook();
+            Sheet sheet = workbook.createSheet("接口数据");
+            Row title = sheet.createRow(0);
+            for (int i = 0; i < titles.length; i++) {
+                title.createCell(i).setCellValue(titles[i]);
+            }
+            for (int r = 1; r <= 2; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue(r);
+                row.createCell(1).setCellValue(r == 2 ? "未知" : "租户");
+                row.createCell(2).setCellValue("/api/" + r);
+                row.createCell(3).setCellValue("接口" + r);
+                row.createCell(4).setCellValue("权限管理");
+                row.createCell(5).setCellValue("code" + r);
+                row.createCell(6).setCellValue("daniel");
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            MockMultipartFile file = new MockMultipartFile("file", xls ? "接口.xls" : "接口.xlsx", "multipart/form-data", out.toByteArray());
+
+            for (ExcelReadMode mode : ExcelReadMode.values()) {
+                ExcelReadOptions options = ExcelReadOptions.builder().readMode(mode).build();
+                Map<String, List<String>> errorMap = new HashMap<>();
+                List<ApiEntity> entities = ExcelUtil.parseExcel(file, ApiTemplateEnum.values(), ApiEntity.class, errorMap, true, options);
+                assertEquals(1, entities.size());
+                assertThat(entities.get(0))
+                        .hasFieldOrPropertyWithValue("project", "权限管理")
+                        .hasFieldOrPropertyWithValue("apiName", "接口1")
+                        .hasFieldOrPropertyWithValue("apiCode", "code1")
+                        .hasFieldOrPropertyWithValue("apiUrl", "/api/1")
+                        .hasFieldOrPropertyWithValue("apiPlatform", Platform.租户);
+                // 错误坐标为sheet中的实际列
+                assertEquals(Collections.singletonList("B3"), errorMap.get(ExcelImportErrorEnum.CONTENT_BEYOND_RANGE.name()));
+
+                try (Stream<ApiEntity> stream = ExcelUtil.streamExcel(file, ApiTemplateEnum.values(), ApiEntity.class, null, true, options)) {
+                    assertEquals(1, stream.count());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void 导入前预检_只读取标题与行数() throws IOException {
+        ApiTemplateEnum[] handlers = ApiTemplateEnum.values();
+        for (boolean xls : new boolean[]{false, true}) {
+            Workbook workbook = xls ? new HSSFWorkbook() : new XSSFWorkbook();
+            Sheet sheet = workbook.createSheet("接口数据");
+            Row title = sheet.createRow(0);
+            for (int i = handlers.length - 1; i >= 0; i--) {
+                title.createCell(handlers.length - 1 - i).setCellValue(handlers[i].getTitleName());
+            }
+            for (int r = 1; r <= 500; r++) {
+                sheet.createRow(r).createCell(0).setCellValue("值" + r);
+            }
+            workbook.createSheet("说明").createRow(0).createCell(0).setCellValue("说明");
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            MockMultipartFile file = new MockMultipartFile("file", xls ? "接口.xls" : "接口.xlsx", "multipart/form-data", out.toByteArray());
+
+            ExcelProbeResult result = ExcelUtil.probe(file, handlers);
+            assertTrue(result.isTitleLegal());
+            assertTrue(result.getMissingTitles().isEmpty());
+            assertEquals(501, result.getRowCount());
+            assertEquals(Arrays.asList("接口数据", "说明"), result.getSheetNames());
+            assertEquals(handlers[handlers.length - 1].getTitleName(), result.getTitles().get(0));
+        }
+
+        MockMultipartFile file = new MockMultipartFile("file", "资源导入模板_标题错误.xlsx", "multipart/form-data", Object.class.getResourceAsStream("/资源导入模板_标题错误.xlsx"));
+        ExcelProbeResult result = ExcelUtil.probe(file, handlers);
+        assertFalse(result.isTitleLegal());
+        assertFalse(result.getMissingTitles().isEmpty());
+    }
+
+    /**
+     * 生成接口导入文件：每11行项目名为空，每7行资源属性非法
+     */
+    private static MockMultipartFile createApiFile(int rows) throws IOException {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet("接口数据");
+        ApiTemplateEnum[] handlers = ApiTemplateEnum.values();
+        Row title = sheet.createRow(0);
+        for (int i = 0; i < handlers.length; i++) {
+            title.createCell(i).setCellValue(handlers[i].getTitleName());
+        }
+        for (int r = 1; r <= rows; r++) {
+            Row row = sheet.createRow(r);
+            row.createCell(0).setCellValue(r % 11 == 0 ? "" : "项目" + r);
+            row.createCell(1).setCellValue("接口" + r);
+            row.createCell(2).setCellValue("code" + r);
+            row.createCell(3).setCellValue("/api/" + r);
+            row.createCell(4).setCellValue(r % 7 == 0 ? "未知" : "租户");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        return new MockMultipartFile("file", "接口.xlsx", "multipart/form-data", out.toByteArray());
+    }
 }
@@ -1,12 +1,44 @@
 package com.github.wuyanzuplus.excel.core;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.openxml4j.opc.ContentTypes;
 import org.apache.poi.openxml4j.opc.internal.ContentType;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Test;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCellFormula;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellFormulaType;
 import org.springframework.mock.web.MockMultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilenameFilter;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -50,4 +82,762 @@ public class ExcelUtilTest {
         assertEquals("AA1", ExcelUtil.convertToCellName(1, 27));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void 流式读取与DOM读取结果一致() throws IOException {
+        ExcelReadOptions dom = ExcelReadOptions.builder().readMode(ExcelReadMode.DOM).build();
+        ExcelReadOptions streaming = ExcelReadOptions.builder().readMode(ExcelReadMode.STREAMING).build();
+        for (String name : new String[]{"资源导入模板_正常.xlsx", "资源导入模板_格式转换.xlsx", "资源导入模板_内容异常.xlsx", "资源导入模板_空数据.xlsx"}) {
+            byte[] bytes = readResource("/" + name);
+            assertThat(ExcelUtil.readExcelWithFirstSheet(name, new ByteArrayInputStream(bytes), streaming))
+                    .containsExactlyElementsOf(ExcelUtil.readExcelWithFirstSheet(name, new ByteArrayInputStream(bytes), dom));
+        }
+
+        byte[] bytes = createTypedWorkbook(new XSSFWorkbook());
+        List<String[]> expected = ExcelUtil.readExcelWithFirstSheet("typed.xlsx", new ByteArrayInputStream(bytes), dom);
+        List<String[]> actual = ExcelUtil.readExcelWithFirstSheet("typed.xlsx", new ByteArrayInputStream(bytes), streaming);
+        assertThat(actual).containsExactlyElementsOf(expected);
+        assertThat(actual.get(1)).containsExactly("100.0", "0.25", "true", "SUM(A2:B2)", "2018-01-01", "", "7");
+    }
+
+    @Test
+    public void 流式读取共享公式与DOM读取结果一致() throws IOException {
+        String master = "SUM(A2:B2)*$A$1+A$2+$B2&\"A1\"&LOG10(A2)";
+        byte[] bytes;
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("公式");
+            Row title = sheet.createRow(0);
+            for (int c = 0; c < 4; c++) {
+                title.createCell(c).setCellValue("列" + c);
+            }
+            // C2:D4共用C2的公式，其余单元格只有si（Excel填充公式时的写法，POI不会写出共享公式）
+            for (int r = 1; r <= 3; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue(r);
+                row.createCell(1).setCellValue(r * 10);
+                for (int c = 2; c < 4; c++) {
+                    CTCellFormula f = ((XSSFCell) row.createCell(c)).getCTCell().addNewF();
+                    f.setT(STCellFormulaType.SHARED);
+                    f.setSi(0);
+                    if (r == 1 && c == 2) {
+                        f.setRef("C2:D4");
+                        f.setStringValue(master);
+                    }
+                }
+            }
+            workbook.write(out);
+            bytes = out.toByteArray();
+        }
+        ExcelReadOptions dom = ExcelReadOptions.builder().readMode(ExcelReadMode.DOM).build();
+        ExcelReadOptions streaming = ExcelReadOptions.builder().readMode(ExcelReadMode.STREAMING).build();
+        List<String[]> expected = ExcelUtil.readExcelWithFirstSheet("shared.xlsx", new ByteArrayInputStream(bytes), dom);
+        List<String[]> actual = ExcelUtil.readExcelWithFirstSheet("shared.xlsx", new ByteArrayInputStream(bytes), streaming);
+        assertThat(actual).containsExactlyElementsOf(expected);
+        assertThat(actual.get(1)[2]).isEqualTo(master);
+        assertThat(actual.get(3)[3]).isEqualTo("SUM(B4:C4)*$A$1+B$2+$B4&\"A1\"&LOG10(B4)");
+        // 带sheet前缀的引用同样平移（POI的DOM方式在共享公式中会丢失sheet前缀）
+        assertThat(new XlsxSharedFormula("'C1 sheet'!A1+Sheet2!$A1+1E+10", 0, 0).formulaAt(1, 2))
+                .isEqualTo("'C1 sheet'!C2+Sheet2!$A2+1E+10");
+    }
+
+    @Test
+    public void 流式读取xls与DOM读取结果一致() throws IOException {
+        ExcelReadOptions dom = ExcelReadOptions.builder().readMode(ExcelReadMode.DOM).build();
+        ExcelReadOptions streaming = ExcelReadOptions.builder().readMode(ExcelReadMode.STREAMING).build();
+        // 以文件头而非后缀识别格式
+        byte[] bytes = createTypedWorkbook(new HSSFWorkbook());
+        List<String[]> expected = ExcelUtil.readExcelWithFirstSheet("typed.xlsx", new ByteArrayInputStream(bytes), dom);
+        List<String[]> actual = ExcelUtil.readExcelWithFirstSheet("typed.xlsx", new ByteArrayInputStream(bytes), streaming);
+        assertThat(actual).containsExactlyElementsOf(expected);
+        assertThat(actual.get(1)).containsExactly("100", "0.25", "true", "SUM(A2:B2)", "2018-01-01", "", "7");
+
+        MockMultipartFile file = new MockMultipartFile("typed.xls", "typed.xls", null, bytes);
+        Map<String, List<String[]>> expectedSheets = ExcelUtil.readExcelWithAllSheet(file, dom);
+        Map<String, List<String[]>> actualSheets = ExcelUtil.readExcelWithAllSheet(file, streaming);
+        assertThat(actualSheets).containsOnlyKeys("typed", "second");
+        assertThat(actualSheets.get("second")).containsExactlyElementsOf(expectedSheets.get("second"));
+    }
+
+    @Test
+    public void 流式读取xls共享公式与数组公式() throws IOException {
+        ExcelReadOptions dom = ExcelReadOptions.builder().readMode(ExcelReadMode.DOM).build();
+        ExcelReadOptions streaming = ExcelReadOptions.builder().readMode(ExcelReadMode.STREAMING).build();
+        // C2:C5、D2:D5为下拉填充的共享公式（单元格只有ExpPtg，首个单元格之后为SHRFMLA记录），E2:E5为数组公式
+        byte[] bytes = readResource("/资源导入模板_共享公式.xls");
+        List<String[]> expected = ExcelUtil.readExcelWithFirstSheet("shared.xls", new ByteArrayInputStream(bytes), dom);
+        List<String[]> actual = ExcelUtil.readExcelWithFirstSheet("shared.xls", new ByteArrayInputStream(bytes), streaming);
+        assertThat(actual).containsExactlyElementsOf(expected);
+        assertThat(actual.get(1)).containsExactly("1", "10.5", "A2*B2", "SUM(A2:B2)*$A$2", "A2:A5*B2:B5", "第1行");
+        assertThat(actual.get(3)).containsExactly("3", "30.5", "A4*B4", "SUM(A4:B4)*$A$2", "A2:A5*B2:B5", "第3行");
+    }
+
+    @Test
+    public void 读取Excel_格式错误() {
+        MockMultipartFile file = new MockMultipartFile("plain.xlsx", "plain.xlsx", null, "a,b,c".getBytes());
+        ExcelResolvingException e = assertThrows(ExcelResolvingException.class, () -> ExcelUtil.readExcelWithFirstSheet(file));
+        assertEquals(ExcelImportErrorEnum.FILE_FORMAT_ERROR.getValue(), e.getMessage());
+    }
+
+    @Test
+    public void 读取所有sheet_并发解析() throws IOException {
+        byte[] bytes;
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int i = 9; i >= 0; i--) {
+                Sheet sheet = workbook.createSheet("sheet" + i);
+                for (int r = 0; r <= 200; r++) {
+                    Row row = sheet.createRow(r);
+                    row.createCell(0).setCellValue(r == 0 ? "title" : "s" + i + "r" + r);
+                    row.createCell(1).setCellValue(r * i);
+                }
+            }
+            // 只有标题的sheet视为空
+            workbook.createSheet("empty").createRow(0).createCell(0).setCellValue("title");
+            workbook.write(out);
+            bytes = out.toByteArray();
+        }
+        MockMultipartFile file = new MockMultipartFile("sheets.xlsx", "sheets.xlsx", null, bytes);
+        Map<String, List<String[]>> expected = ExcelUtil.readExcelWithAllSheet(file);
+        Map<String, List<String[]>> actual = ExcelUtil.readExcelWithAllSheet(file, ExcelReadOptions.builder().parallelSheets(true).build());
+
+        assertThat(actual.keySet()).containsExactly("sheet9", "sheet8", "sheet7", "sheet6", "sheet5", "sheet4", "sheet3", "sheet2", "sheet1", "sheet0");
+        actual.forEach((sheetName, rows) -> assertThat(rows).containsExactlyElementsOf(expected.get(sheetName)));
+        assertThat(actual.get("sheet3").get(200)).containsExactly("s3r200", "600.0");
+    }
+
+    @Test
+    public void 按列读取_字典编码() throws IOException {
+        byte[] bytes = readResource("/资源导入模板_正常.xlsx");
+        List<String[]> rows = ExcelUtil.readExcelWithFirstSheet("正常.xlsx", new ByteArrayInputStream(bytes), ExcelReadOptions.DEFAULT);
+        ColumnarSheet sheet = ExcelUtil.readColumnarFirstSheet(new ByteArrayInputStream(bytes), ExcelReadOptions.DEFAULT);
+        assertThat(sheet.toRows()).containsExactlyElementsOf(rows);
+        assertEquals(rows.size(), sheet.getRowCount());
+        assertThat(sheet.getRow(1)).containsExactly(rows.get(1));
+        assertEquals(rows.get(1)[0], sheet.getValue(1, 0));
+
+        byte[] repeated;
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet0 = workbook.createSheet("sheet0");
+            sheet0.createRow(0).createCell(0).setCellValue("资源属性");
+            sheet0.getRow(0).createCell(1).setCellValue("接口编码");
+            for (int r = 1; r <= 1000; r++) {
+                Row row = sheet0.createRow(r);
+                row.createCell(0).setCellValue(r % 2 == 0 ? "系统" : "租户");
+                row.createCell(1).setCellValue("code" + r);
+            }
+            workbook.createSheet("empty").createRow(0).createCell(0).setCellValue("title");
+            workbook.write(out);
+            repeated = out.toByteArray();
+        }
+        MockMultipartFile file = new MockMultipartFile("repeated.xlsx", "repeated.xlsx", null, repeated);
+        Map<String, ColumnarSheet> sheets = ExcelUtil.readColumnarAllSheet(file);
+        assertThat(sheets).containsOnlyKeys("sheet0");
+        ColumnarSheet columnar = sheets.get("sheet0");
+        assertEquals(1001, columnar.getRowCount());
+        assertEquals(2, columnar.getColumnCount());
+        assertThat(columnar.getDistinctValues(0)).containsExactly("资源属性", "租户", "系统");
+        assertThat(columnar.getDistinctValues(1)).hasSize(1001);
+        assertThat(columnar.getColumn(0)).hasSize(1001).startsWith("资源属性", "租户", "系统");
+        assertThat(columnar.toRows()).containsExactlyElementsOf(ExcelUtil.readExcelWithAllSheet(file).get("sheet0"));
+    }
+
+    @Test
+    public void 共享字符串写入临时文件_与堆内读取一致() throws IOException {
+        ExcelReadOptions spill = ExcelReadOptions.builder().spillSharedStrings(true).sharedStringsCacheSize(16).parallelSheets(true).build();
+        for (String name : new String[]{"资源导入模板_正常.xlsx", "资源导入模板_格式转换.xlsx", "资源导入模板_空数据.xlsx"}) {
+            byte[] bytes = readResource("/" + name);
+            assertThat(ExcelUtil.readExcelWithFirstSheet(name, new ByteArrayInputStream(bytes), spill))
+                    .containsExactlyElementsOf(ExcelUtil.readExcelWithFirstSheet(name, new ByteArrayInputStream(bytes)));
+        }
+
+        byte[] bytes;
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int i = 0; i < 3; i++) {
+                Sheet sheet = workbook.createSheet("sheet" + i);
+                for (int r = 0; r <= 500; r++) {
+                    Row row = sheet.createRow(r);
+                    row.createCell(0).setCellValue(r == 0 ? "接口地址" : "/api/" + i + "/资源/" + r);
+                    row.createCell(1).setCellValue(r % 3 == 0 ? "系统" : "租户");
+                }
+            }
+            workbook.write(out);
+            bytes = out.toByteArray();
+        }
+        MockMultipartFile file = new MockMultipartFile("strings.xlsx", "strings.xlsx", null, bytes);
+        Map<String, List<String[]>> expected = ExcelUtil.readExcelWithAllSheet(file);
+        Map<String, List<String[]>> actual = ExcelUtil.readExcelWithAllSheet(file, spill);
+        assertThat(actual.keySet()).containsExactly("sheet0", "sheet1", "sheet2");
+        actual.forEach((sheetName, rows) -> assertThat(rows).containsExactlyElementsOf(expected.get(sheetName)));
+        assertThat(actual.get("sheet2").get(500)).containsExactly("/api/2/资源/500", "租户");
+    }
+
+    @Test
+    public void 读取磁盘文件_与文件流读取一致() throws IOException {
+        ExcelReadOptions dom = ExcelReadOptions.builder().readMode(ExcelReadMode.DOM).build();
+        ExcelReadOptions streaming = ExcelReadOptions.builder().readMode(ExcelReadMode.STREAMING).build();
+        for (Workbook workbook : new Workbook[]{new XSSFWorkbook(), new HSSFWorkbook()}) {
+            byte[] bytes = createTypedWorkbook(workbook);
+            Path path = Files.createTempFile("typed", ".tmp");
+            try {
+                Files.write(path, bytes);
+                for (ExcelReadOptions options : new ExcelReadOptions[]{dom, streaming}) {
+                    assertThat(ExcelUtil.readExcelWithFirstSheet(path, options))
+                            .containsExactlyElementsOf(ExcelUtil.readExcelWithFirstSheet("typed", new ByteArrayInputStream(bytes), options));
+                    Map<String, List<String[]>> sheets = ExcelUtil.readExcelWithAllSheet(path.toFile(), options);
+                    assertThat(sheets).containsOnlyKeys("typed", "second");
+                }
+                // 只读打开，不修改文件
+                assertArrayEquals(bytes, Files.readAllBytes(path));
+            } finally {
+                Files.delete(path);
+            }
+        }
+
+        Path path = Files.createTempFile("资源导入模板_内容异常", ".xlsx");
+        try {
+            Files.write(path, readResource("/资源导入模板_内容异常.xlsx"));
+            Map<String, List<String>> errorMap = new HashMap<>();
+            List<ApiEntity> entities = ExcelUtil.parseExcel(path, ApiTemplateEnum.values(), ApiEntity.class, errorMap, true, ExcelReadOptions.DEFAULT);
+            assertEquals(1, entities.size());
+            assertEquals(2, errorMap.size());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void 读取上传文件_较大的文件复制到临时文件读取() throws IOException {
+        byte[] bytes;
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("sheet0");
+            for (int r = 0; r < 10; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue("text" + r);
+                row.createCell(1).setCellValue(r + 0.5);
+            }
+            // 无法压缩的图片使文件超过临时文件阈值
+            byte[] picture = new byte[(int) ExcelSource.SPOOL_THRESHOLD];
+            new Random(1).nextBytes(picture);
+            workbook.addPicture(picture, Workbook.PICTURE_TYPE_PNG);
+            workbook.write(out);
+            bytes = out.toByteArray();
+        }
+        assertThat((long) bytes.length).isGreaterThanOrEqualTo(ExcelSource.SPOOL_THRESHOLD);
+        MockMultipartFile file = new MockMultipartFile("file", "large.xlsx", "multipart/form-data", bytes);
+        File tempDir = new File(System.getProperty("java.io.tmpdir"), "poifiles");
+        FilenameFilter uploads = (dir, name) -> name.startsWith("excel-upload");
+        String[] before = tempDir.list(uploads);
+
+        ExcelReadOptions dom = ExcelReadOptions.builder().readMode(ExcelReadMode.DOM).build();
+        for (ExcelReadOptions options : new ExcelReadOptions[]{ExcelReadOptions.DEFAULT, dom}) {
+            assertThat(ExcelUtil.readExcelWithFirstSheet(file, options))
+                    .containsExactlyElementsOf(ExcelUtil.readExcelWithFirstSheet("large.xlsx", new ByteArrayInputStream(bytes), options));
+        }
+        try (Stream<ApiEntity> stream = ExcelUtil.streamExcel(file, ApiTemplateEnum.values(), ApiEntity.class, null)) {
+            assertThrows(ExcelResolvingException.class, stream::count);
+        }
+        // 文件损坏、打开时抛出受检异常（IOException）同样删除临时文件
+        byte[] corrupted = Arrays.copyOf(new byte[]{(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1}, bytes.length);
+        MockMultipartFile corruptedFile = new MockMultipartFile("file", "corrupted.xls", "multipart/form-data", corrupted);
+        assertThrows(IOException.class, () -> ExcelUtil.streamExcel(corruptedFile, ApiTemplateEnum.values(), ApiEntity.class, null));
+        // 临时文件在读取结束后删除，上传文件仍可再次读取
+        assertThat(tempDir.list(uploads)).containsExactlyInAnyOrder(before == null ? new String[0] : before);
+        assertArrayEquals(bytes, file.getBytes());
+    }
+
+    @Test
+    public void 读取前预检_自动选择与上限() throws IOException {
+        byte[] bytes;
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("sheet0");
+            for (int r = 0; r < 20000; r++) {
+                Row row = sheet.createRow(r);
+                for (int c = 0; c < 4; c++) {
+                    row.createCell(c).setCellValue("系统");
+                }
+            }
+            workbook.write(out);
+            bytes = out.toByteArray();
+        }
+        WorkbookProbe probe = ExcelSource.of(new ByteArrayInputStream(bytes)).probe(false, ExcelReadOptions.DEFAULT);
+        assertEquals(20000, probe.getRowCount());
+        assertEquals(4, probe.getColumnCount());
+        assertEquals(bytes.length, probe.getFileSize());
+        assertThat(probe.getUncompressedSize()).isGreaterThan(bytes.length);
+        assertThat(probe.getExpansionRatio()).isGreaterThan(2);
+
+        List<String[]> expected = ExcelUtil.readExcelWithFirstSheet("auto.xlsx", new ByteArrayInputStream(bytes), ExcelReadOptions.DEFAULT);
+        for (long threshold : new long[]{0, Long.MAX_VALUE}) {
+            ExcelReadOptions auto = ExcelReadOptions.builder().readMode(ExcelReadMode.AUTO).autoDomThreshold(threshold).build();
+            assertThat(ExcelUtil.readExcelWithFirstSheet("auto.xlsx", new ByteArrayInputStream(bytes), auto)).containsExactlyElementsOf(expected);
+        }
+
+        ExcelReadOptions ratioLimit = ExcelReadOptions.builder().maxExpansionRatio(2).build();
+        ExcelResolvingException e = assertThrows(ExcelResolvingException.class,
+                () -> ExcelUtil.readExcelWithFirstSheet("auto.xlsx", new ByteArrayInputStream(bytes), ratioLimit));
+        assertEquals(ExcelImportErrorEnum.FILE_EXPANSION_ERROR.getValue(), e.getMessage());
+
+        ExcelReadOptions rowLimit = ExcelReadOptions.builder().maxRows(10000).build();
+        e = assertThrows(ExcelResolvingException.class,
+                () -> ExcelUtil.readExcelWithFirstSheet("auto.xlsx", new ByteArrayInputStream(bytes), rowLimit));
+        assertEquals(ExcelImportErrorEnum.FILE_TOO_LARGE.getValue(), e.getMessage());
+
+        ExcelReadOptions sizeLimit = ExcelReadOptions.builder().maxUncompressedSize(bytes.length).build();
+        e = assertThrows(ExcelResolvingException.class,
+                () -> ExcelUtil.readExcelWithFirstSheet("auto.xlsx", new ByteArrayInputStream(bytes), sizeLimit));
+        assertEquals(ExcelImportErrorEnum.FILE_TOO_LARGE.getValue(), e.getMessage());
+
+        // 未超出上限时正常读取
+        ExcelReadOptions limits = ExcelReadOptions.builder().maxRows(20000).maxExpansionRatio(1000).build();
+        assertThat(ExcelUtil.readExcelWithFirstSheet("auto.xlsx", new ByteArrayInputStream(bytes), limits)).hasSize(20000);
+    }
+
+    @Test
+    public void 读取时校验行数上限_dimension不准确或xls() throws IOException {
+        // SXSSF写出的dimension始终为A1，预检无法得知实际行数
+        byte[] xlsx;
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            SXSSFWorkbook workbook = new SXSSFWorkbook();
+            Sheet sheet = workbook.createSheet("sheet0");
+            Row title = sheet.createRow(0);
+            for (ApiTemplateEnum template : ApiTemplateEnum.values()) {
+                title.createCell(template.ordinal()).setCellValue(template.getTitleName());
+            }
+            for (int r = 1; r < 30; r++) {
+                sheet.createRow(r).createCell(0).setCellValue("r" + r);
+            }
+            workbook.write(out);
+            workbook.dispose();
+            xlsx = out.toByteArray();
+        }
+        assertEquals(1, ExcelSource.of(new ByteArrayInputStream(xlsx)).probe(false, ExcelReadOptions.DEFAULT).getRowCount());
+        ExcelReadOptions dom = ExcelReadOptions.builder().readMode(ExcelReadMode.DOM).maxRows(20).build();
+        ExcelReadOptions streaming = ExcelReadOptions.builder().readMode(ExcelReadMode.STREAMING).maxRows(20).build();
+        for (ExcelReadOptions options : new ExcelReadOptions[]{dom, streaming}) {
+            ExcelResolvingException e = assertThrows(ExcelResolvingException.class,
+                    () -> ExcelUtil.readExcelWithFirstSheet("rows.xlsx", new ByteArrayInputStream(xlsx), options));
+            assertEquals(ExcelImportErrorEnum.FILE_TOO_LARGE.getValue(), e.getMessage());
+        }
+        MockMultipartFile file = new MockMultipartFile("rows.xlsx", "rows.xlsx", null, xlsx);
+        try (Stream<ApiEntity> stream = ExcelUtil.streamExcel(file, ApiTemplateEnum.values(), ApiEntity.class, null, false, streaming)) {
+            ExcelResolvingException e = assertThrows(ExcelResolvingException.class, stream::count);
+            assertEquals(ExcelImportErrorEnum.FILE_TOO_LARGE.getValue(), e.getMessage());
+        }
+        assertThat(ExcelUtil.readExcelWithFirstSheet("rows.xlsx", new ByteArrayInputStream(xlsx),
+                ExcelReadOptions.builder().readMode(ExcelReadMode.STREAMING).maxRows(30).build())).hasSize(30);
+
+        // xls：预检读取DIMENSIONS记录，读取时按实际行号校验
+        byte[] xls;
+        try (HSSFWorkbook workbook = new HSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("sheet0");
+            for (int r = 0; r < 30; r++) {
+                sheet.createRow(r).createCell(0).setCellValue("r" + r);
+            }
+            workbook.write(out);
+            xls = out.toByteArray();
+        }
+        WorkbookProbe probe = ExcelSource.of(new ByteArrayInputStream(xls)).probe(true, ExcelReadOptions.builder().maxRows(100).build());
+        assertEquals(30, probe.getRowCount());
+        assertEquals(1, probe.getColumnCount());
+        for (ExcelReadOptions options : new ExcelReadOptions[]{dom, streaming}) {
+            ExcelResolvingException e = assertThrows(ExcelResolvingException.class,
+                    () -> ExcelUtil.readExcelWithFirstSheet("rows.xls", new ByteArrayInputStream(xls), options));
+            assertEquals(ExcelImportErrorEnum.FILE_TOO_LARGE.getValue(), e.getMessage());
+        }
+        List<String[]> rows = new ArrayList<>();
+        ExcelResolvingException e = assertThrows(ExcelResolvingException.class, () -> XlsStreamingReader.read(
+                ExcelSource.of(new ByteArrayInputStream(xls)).openFileSystem(), true, sheetName -> (rowNum, rowData) -> rows.add(rowData), streaming));
+        assertEquals(ExcelImportErrorEnum.FILE_TOO_LARGE.getValue(), e.getMessage());
+        assertThat(rows).hasSize(20);
+    }
+
+    @Test
+    public void 行数据转换_考虑父类() {
+        String[] rowData = {"权限管理", "接口1", "code1", "/abc", "租户"};
+        ApiEntity entity = ExcelUtil.transformData(SubApiEntity.class, rowData, ApiTemplateEnum.values());
+        assertThat(entity).isInstanceOf(SubApiEntity.class)
+                .hasFieldOrPropertyWithValue("project", "权限管理")
+                .hasFieldOrPropertyWithValue("apiPlatform", Platform.租户);
+
+        assertThrows(IllegalArgumentException.class, () -> ExcelUtil.transformDeclaredData(SubApiEntity.class, rowData, ApiTemplateEnum.values()));
+
+        // 绑定器按 (目标类, 是否只考虑当前类, 枚举内容) 缓存，与枚举数组实例无关
+        ApiTemplateEnum[] handlers = ApiTemplateEnum.values();
+        ExcelFieldBinder<ApiEntity> binder = ExcelFieldBinder.of(SubApiEntity.class, handlers, false);
+        assertThat(ExcelFieldBinder.of(SubApiEntity.class, ApiTemplateEnum.values(), false)).isSameAs(binder);
+        assertThat(ExcelFieldBinder.of(ApiEntity.class, handlers, false)).isNotSameAs(binder);
+        assertThat(ExcelFieldBinder.of(SubApiEntity.class, Arrays.copyOf(handlers, 2), false)).isNotSameAs(binder);
+        // 调用方修改数组不影响已缓存的绑定器
+        handlers[0] = ApiTemplateEnum.API_CODE;
+        assertThat(ExcelFieldBinder.of(SubApiEntity.class, ApiTemplateEnum.values(), false)).isSameAs(binder);
+    }
+
+    public static class SubApiEntity extends ApiEntity {
+    }
+
+    @Test
+    public void 类型化导入_原始值直接写入字段() throws IOException {
+        for (Workbook workbook : new Workbook[]{new XSSFWorkbook(), new HSSFWorkbook()}) {
+            Sheet sheet = workbook.createSheet("订单");
+            Row title = sheet.createRow(0);
+            OrderTemplate[] handlers = OrderTemplate.values();
+            for (int i = 0; i < handlers.length; i++) {
+                title.createCell(i).setCellValue(handlers[i].getTitleName());
+            }
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-MM-dd"));
+            for (int r = 1; r <= 2; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue(r == 1 ? 3 : 2.5);
+                row.createCell(1).setCellValue(12.35);
+                row.createCell(2).setCellValue(java.sql.Date.valueOf(LocalDate.of(2024, 1, 5)));
+                row.getCell(2).setCellStyle(dateStyle);
+                row.createCell(3).setCellValue(true);
+                row.createCell(4).setCellValue("9007199254740993");
+                row.createCell(5).setCellValue(0.5);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            MockMultipartFile file = new MockMultipartFile("file", "订单", "multipart/form-data", out.toByteArray());
+
+            for (ExcelReadMode mode : new ExcelReadMode[]{ExcelReadMode.DOM, ExcelReadMode.STREAMING}) {
+                Map<String, List<String>> errorMap = new HashMap<>();
+                ExcelReadOptions options = ExcelReadOptions.builder().readMode(mode).build();
+                List<OrderEntity> orders = ExcelUtil.parseExcel(file, handlers, OrderEntity.class, errorMap, true, options);
+                assertThat(orders).hasSize(1);
+                assertThat(orders.get(0))
+                        .hasFieldOrPropertyWithValue("quantity", 3)
+                        .hasFieldOrPropertyWithValue("amount", new BigDecimal("12.35"))
+                        .hasFieldOrPropertyWithValue("orderDate", LocalDate.of(2024, 1, 5))
+                        .hasFieldOrPropertyWithValue("paid", true)
+                        .hasFieldOrPropertyWithValue("serialNo", 9007199254740993L)
+                        .hasFieldOrPropertyWithValue("rate", 50.0);
+                // 非整数写入int字段
+                assertThat(errorMap).containsEntry(ExcelImportErrorEnum.TYPE_ERROR.name(), Collections.singletonList("A3"));
+
+                // 按需迭代没有原始值，按文本转换的结果一致
+                try (Stream<OrderEntity> stream = ExcelUtil.streamExcel(file, handlers, OrderEntity.class, null, true, options)) {
+                    assertThat(stream.findFirst().get()).isEqualToComparingFieldByField(orders.get(0));
+                }
+            }
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class OrderEntity {
+        private int quantity;
+        private BigDecimal amount;
+        private LocalDate orderDate;
+        private boolean paid;
+        private long serialNo;
+        private Double rate;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public enum OrderTemplate implements ExcelHandler {
+        QUANTITY("数量", "quantity", int.class, null),
+        AMOUNT("金额", "amount", BigDecimal.class, null),
+        ORDER_DATE("下单日期", "orderDate", LocalDate.class, null),
+        PAID("已支付", "paid", boolean.class, null),
+        SERIAL_NO("流水号", "serialNo", long.class, null),
+        RATE("费率(%)", "rate", null, new TypedValueImportResolver<Double>() {
+            @Override
+            public Double resolveNumeric(double value) {
+                return value * 100;
+            }
+
+            @Override
+            public Double importResolve(String val) {
+                return Double.parseDouble(val) * 100;
+            }
+        });
+
+        private final String titleName;
+        private final String fieldName;
+        private final Class<?> importType;
+        private final ValueImportResolver<?> valueImportResolver;
+
+        @Override
+        public int getMaxLength() {
+            return 50;
+        }
+
+        @Override
+        public String getExportFormat() {
+            switch (this) {
+                case AMOUNT:
+                    return "#,##0.00";
+                case ORDER_DATE:
+                    return "yyyy-mm-dd";
+                default:
+                    return "General";
+            }
+        }
+    }
+
+    @Test
+    public void 枚举与缓存的校验转换() {
+        EnumValueResolver<Platform> platform = EnumValueResolver.of(Platform.class);
+        assertThat(EnumValueResolver.of(Platform.class)).isSameAs(platform);
+        assertThat(platform.checkValue("租户")).isNull();
+        assertThat(platform.checkValue("其它")).isEqualTo(ExcelImportErrorEnum.CONTENT_BEYOND_RANGE.name());
+        assertThat(platform.importResolve("租户")).isEqualTo(Platform.租户);
+        assertThat(platform.importResolve("其它")).isNull();
+        assertThat(platform.exportResolve(Platform.运营)).isEqualTo("运营");
+        assertThat(platform.exportResolve(null)).isEqualTo("");
+
+        EnumValueResolver<Platform> byValue = EnumValueResolver.of(Platform.class, p -> String.valueOf(p.getValue()));
+        assertThat(byValue.importResolve(String.valueOf(Platform.租户.getValue()))).isEqualTo(Platform.租户);
+        assertThat(byValue.exportResolve(Platform.租户)).isEqualTo(String.valueOf(Platform.租户.getValue()));
+
+        Map<String, Integer> lookups = new HashMap<>();
+        MemoizedValueResolver<Integer> dictionary = MemoizedValueResolver.of(val -> {
+            lookups.merge(val, 1, Integer::sum);
+            return val.startsWith("code") ? Integer.valueOf(val.substring(4)) : null;
+        }, ExcelImportErrorEnum.CONTENT_BEYOND_RANGE.name(), 2);
+        // 同一个值的校验与转换只查找一次，不存在的值同样缓存
+        assertThat(dictionary.checkValue("code1")).isNull();
+        assertThat(dictionary.importResolve("code1")).isEqualTo(1);
+        assertThat(dictionary.checkValue("x")).isEqualTo(ExcelImportErrorEnum.CONTENT_BEYOND_RANGE.name());
+        assertThat(dictionary.importResolve("x")).isNull();
+        assertThat(lookups).containsEntry("code1", 1).containsEntry("x", 1);
+        // 超出maxSize时淘汰最久未使用的值
+        dictionary.importResolve("code1");
+        dictionary.importResolve("code2");
+        dictionary.importResolve("x");
+        assertThat(lookups).containsEntry("code1", 1).containsEntry("code2", 1).containsEntry("x", 2);
+
+        int[] validations = {0};
+        ValueValidator validator = MemoizedValueResolver.validator(val -> {
+            validations[0]++;
+            return val.isEmpty() ? ExcelImportErrorEnum.CONTENT_BEYOND_RANGE.name() : null;
+        }, 10);
+        assertThat(validator.checkValue("a")).isNull();
+        assertThat(validator.checkValue("a")).isNull();
+        assertThat(validations[0]).isEqualTo(1);
+    }
+
+    @Test
+    public void 唯一约束_单列与联合去重() throws IOException {
+        String[][] rows = {
+                {"权限管理", "接口1", "code1", "/a", "租户"},
+                {"权限管理", "接口2", "code1", "/b", "租户"},
+                {"权限管理", "接口1", "code2", "/c", "租户"},
+                {"用户管理", "接口1", "code3", "/d", "租户"},
+                {"用户管理", "接口4", "code4", "/e", "其它"},
+                {"用户管理", "接口5", "code4", "/f", "运营"},
+        };
+        byte[] bytes;
+        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("接口");
+            Row title = sheet.createRow(0);
+            for (ApiTemplateEnum handler : ApiTemplateEnum.values()) {
+                title.createCell(handler.ordinal()).setCellValue(handler.getTitleName());
+            }
+            for (int r = 0; r < rows.length; r++) {
+                Row row = sheet.createRow(r + 1);
+                for (int c = 0; c < rows[r].length; c++) {
+                    row.createCell(c).setCellValue(rows[r][c]);
+                }
+            }
+            workbook.write(out);
+            bytes = out.toByteArray();
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "接口.xlsx", "multipart/form-data", bytes);
+        ExcelReadOptions parallel = ExcelReadOptions.builder().parallel(true).parallelBlockSize(2).build();
+        for (ExcelReadOptions options : new ExcelReadOptions[]{ExcelReadOptions.DEFAULT, parallel}) {
+            Map<String, List<String>> errorMap = new HashMap<>();
+            List<ApiEntity> list = ExcelUtil.parseExcel(file, UniqueApiTemplate.values(), ApiEntity.class, errorMap, true, options);
+            // 不合法的行不登记键值，之后相同编码的行正常导入
+            assertThat(list).extracting(ApiEntity::getApiCode).containsExactly("code1", "code3", "code4");
+            assertThat(errorMap).containsEntry(ExcelImportErrorEnum.DUPLICATE_VALUE.name(), Arrays.asList("C3", "A4"))
+                    .containsEntry(ExcelImportErrorEnum.CONTENT_BEYOND_RANGE.name(), Collections.singletonList("E6"));
+        }
+    }
+
+    @Test
+    public void 唯一约束_数值与文本单元格的键值一致() throws IOException {
+        // 流水号：数值1001、文本"1001"、文本"01001"、数值1002、文本"1002"
+        Object[] serialNos = {1001d, "1001", "01001", 1002d, "1002"};
+        for (Workbook workbook : new Workbook[]{new XSSFWorkbook(), new HSSFWorkbook()}) {
+            MockMultipartFile file = uniqueOrderFile(workbook, serialNos);
+            for (ExcelReadMode mode : new ExcelReadMode[]{ExcelReadMode.DOM, ExcelReadMode.STREAMING}) {
+                Map<String, List<String>> errorMap = new HashMap<>();
+                ExcelReadOptions options = ExcelReadOptions.builder().readMode(mode).build();
+                List<OrderEntity> orders = ExcelUtil.parseExcel(file, UniqueOrderTemplate.values(), OrderEntity.class, errorMap, true, options);
+                assertThat(orders).extracting(OrderEntity::getQuantity).containsExactly(1, 3, 4);
+                assertThat(errorMap).containsOnlyKeys(ExcelImportErrorEnum.DUPLICATE_VALUE.name())
+                        .containsEntry(ExcelImportErrorEnum.DUPLICATE_VALUE.name(), Arrays.asList("E3", "E6"));
+            }
+        }
+    }
+
+    @Test
+    public void 唯一约束_并行与顺序转换结果一致() throws IOException {
+        Object[] serialNos = new Object[40];
+        for (int i = 0; i < serialNos.length; i++) {
+            // 每个值出现两次，交替以数值和文本写入
+            int serialNo = 1000 + i % 20;
+            serialNos[i] = i % 3 == 0 ? String.valueOf(serialNo) : (Object) (double) serialNo;
+        }
+        MockMultipartFile file = uniqueOrderFile(new XSSFWorkbook(), serialNos);
+        Map<String, List<String>> sequentialErrors = new HashMap<>();
+        List<OrderEntity> sequential = ExcelUtil.parseExcel(file, UniqueOrderTemplate.values(), OrderEntity.class, sequentialErrors, true);
+        Map<String, List<String>> parallelErrors = new HashMap<>();
+        ExcelReadOptions parallel = ExcelReadOptions.builder().parallel(true).parallelBlockSize(3).build();
+        List<OrderEntity> parallelOrders = ExcelUtil.parseExcel(file, UniqueOrderTemplate.values(), OrderEntity.class, parallelErrors, true, parallel);
+
+        assertThat(sequential).extracting(OrderEntity::getQuantity).containsExactlyElementsOf(
+                IntStream.rangeClosed(1, 20).boxed().collect(Collectors.toList()));
+        assertThat(sequentialErrors.get(ExcelImportErrorEnum.DUPLICATE_VALUE.name())).hasSize(20);
+        assertThat(parallelOrders).extracting(OrderEntity::getQuantity)
+                .containsExactlyElementsOf(sequential.stream().map(OrderEntity::getQuantity).collect(Collectors.toList()));
+        assertThat(parallelErrors).isEqualTo(sequentialErrors);
+    }
+
+    /**
+     * 第r行（从1开始）：数量为r，流水号为serialNos[r - 1]（Double写为数值单元格，String写为文本单元格）
+     */
+    private static MockMultipartFile uniqueOrderFile(Workbook workbook, Object[] serialNos) throws IOException {
+        try (Workbook wb = workbook; ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = wb.createSheet("订单");
+            Row title = sheet.createRow(0);
+            for (UniqueOrderTemplate handler : UniqueOrderTemplate.values()) {
+                title.createCell(handler.ordinal()).setCellValue(handler.getTitleName());
+            }
+            for (int r = 1; r <= serialNos.length; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(UniqueOrderTemplate.QUANTITY.ordinal()).setCellValue(r);
+                Object serialNo = serialNos[r - 1];
+                if (serialNo instanceof Double) {
+                    row.createCell(UniqueOrderTemplate.SERIAL_NO.ordinal()).setCellValue((Double) serialNo);
+                } else {
+                    row.createCell(UniqueOrderTemplate.SERIAL_NO.ordinal()).setCellValue((String) serialNo);
+                }
+            }
+            wb.write(out);
+            return new MockMultipartFile("file", "订单", "multipart/form-data", out.toByteArray());
+        }
+    }
+
+    /**
+     * 流水号唯一（按原始值读取）
+     */
+    @Getter
+    @AllArgsConstructor
+    public enum UniqueOrderTemplate implements ExcelHandler {
+        QUANTITY(OrderTemplate.QUANTITY, null),
+        AMOUNT(OrderTemplate.AMOUNT, null),
+        ORDER_DATE(OrderTemplate.ORDER_DATE, null),
+        PAID(OrderTemplate.PAID, null),
+        SERIAL_NO(OrderTemplate.SERIAL_NO, "serialNo");
+
+        private final OrderTemplate template;
+
+        private final String uniqueKey;
+
+        @Override
+        public String getTitleName() {
+            return template.getTitleName();
+        }
+
+        @Override
+        public String getFieldName() {
+            return template.getFieldName();
+        }
+
+        @Override
+        public Class<?> getImportType() {
+            return template.getImportType();
+        }
+
+        @Override
+        public int getMaxLength() {
+            return template.getMaxLength();
+        }
+    }
+
+    /**
+     * 接口编码唯一，项目名 + 接口名称联合唯一
+     */
+    @Getter
+    @AllArgsConstructor
+    public enum UniqueApiTemplate implements ExcelHandler {
+        PROJECT(ApiTemplateEnum.PROJECT, "name"),
+        API_NAME(ApiTemplateEnum.API_NAME, "name"),
+        API_CODE(ApiTemplateEnum.API_CODE, "code"),
+        API_URL(ApiTemplateEnum.API_URL, null),
+        API_PLATFORM(ApiTemplateEnum.API_PLATFORM, null);
+
+        private final ApiTemplateEnum template;
+
+        private final String uniqueKey;
+
+        @Override
+        public String getTitleName() {
+            return template.getTitleName();
+        }
+
+        @Override
+        public String getFieldName() {
+            return template.getFieldName();
+        }
+
+        @Override
+        public boolean isRequired() {
+            return template.isRequired();
+        }
+
+        @Override
+        public int getMaxLength() {
+            return template.getMaxLength();
+        }
+
+        @Override
+        public ValueValidator getValueValidator() {
+            return template.getValueValidator();
+        }
+
+        @Override
+        public ValueImportResolver getValueImportResolver() {
+            return template.getValueImportResolver();
+        }
+    }
+
+    private static byte[] readResource(String name) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IOUtils.copy(Object.class.getResourceAsStream(name), out);
+        return out.toByteArray();
+    }
+
+    private static byte[] createTypedWorkbook(Workbook workbook) throws IOException {
+        try (Workbook wb = workbook; ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("typed");
+            Row title = sheet.createRow(0);
+            for (int i = 0; i < 7; i++) {
+                title.createCell(i).setCellValue("title" + i);
+            }
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy/m/d"));
+            Row row = sheet.createRow(1);
+            row.createCell(0).setCellValue(100);
+            row.createCell(1).setCellValue(0.25);
+            row.createCell(2).setCellValue(true);
+            row.createCell(3).setCellFormula("SUM(A2:B2)");
+            row.createCell(4).setCellValue(java.sql.Date.valueOf(LocalDate.of(2018, 1, 1)));
+            row.getCell(4).setCellStyle(dateStyle);
+            row.createCell(6).setCellErrorValue(FormulaError.DIV0.getCode());
+            // 跳过的行与超出标题列数的单元格
+            sheet.createRow(3).createCell(9).setCellValue("ignored");
+            // 已定义但没有单元格的行
+            sheet.createRow(4);
+            sheet.createRow(5).createCell(1).setCellValue("last");
+            Sheet second = workbook.createSheet("second");
+            second.createRow(0).createCell(0).setCellValue("title");
+            second.createRow(1).createCell(0).setCellValue(1.5);
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+
+}